@@ -33,6 +33,12 @@ if ! command -v docker-compose &> /dev/null; then
     exit 1
 fi
 
+# The backend refuses to start without a token signing secret
+if [ -z "$VROOM_JWT_SECRET" ]; then
+    print_error "VROOM_JWT_SECRET is not set. Generate one with: export VROOM_JWT_SECRET=\$(openssl rand -base64 32)"
+    exit 1
+fi
+
 # Stop any existing containers
 print_status "Stopping existing containers..."
 docker-compose down
@@ -116,7 +116,8 @@ print_status "Building and starting Spring Boot backend..."
 if [ "$USE_H2" = true ]; then
     ./mvnw spring-boot:run -Dspring-boot.run.profiles=dev > backend.log 2>&1 &
 else
-    ./mvnw spring-boot:run > backend.log 2>&1 &
+    # dev profile: tokens are signed with a random key unless VROOM_JWT_SECRET is set
+    ./mvnw spring-boot:run -Dspring-boot.run.profiles=dev > backend.log 2>&1 &
 fi
 BACKEND_PID=$!
 
@@ -0,0 +1,191 @@
+package com.vehicle.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+// Jackson writes responses without a Content-Length, and Tomcat compresses every response
+// of unknown length regardless of server.compression.min-response-size. For clients that
+// accept gzip the body is held back until it passes that size: a smaller response is sent
+// with its length, so it skips compression, and a larger one streams through from there
+// on, so big lists are never copied whole. Streaming exports are left alone; they are
+// written asynchronously and can be huge.
+@Component
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+
+    @Value("${server.compression.min-response-size:2KB}")
+    private DataSize minResponseSize;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String acceptEncoding = request.getHeader("Accept-Encoding");
+        return acceptEncoding == null || !acceptEncoding.contains("gzip") || request.getRequestURI().endsWith("/export");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        ThresholdResponse wrapper = new ThresholdResponse(response, (int) minResponseSize.toBytes());
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            wrapper.finish();
+        }
+    }
+
+    private static final class ThresholdResponse extends HttpServletResponseWrapper {
+
+        private final int threshold;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private ServletOutputStream target;
+        private ThresholdStream stream;
+        private PrintWriter writer;
+
+        ThresholdResponse(HttpServletResponse response, int threshold) {
+            super(response);
+            this.threshold = threshold;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called");
+            }
+            return stream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (stream != null) {
+                    throw new IllegalStateException("getOutputStream() has already been called");
+                }
+                writer = new PrintWriter(new OutputStreamWriter(stream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        // Flushing before the threshold would commit the response without a length
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (target != null) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            buffer.reset();
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset() {
+            buffer.reset();
+            super.reset();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            buffer.reset();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            buffer.reset();
+            super.sendError(sc);
+        }
+
+        // Sends a body that never reached the threshold, now that its length is known
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (target == null && buffer.size() > 0) {
+                if (!isCommitted()) {
+                    setContentLength(buffer.size());
+                }
+                buffer.writeTo(getResponse().getOutputStream());
+                buffer.reset();
+            }
+        }
+
+        private ThresholdStream stream() {
+            if (stream == null) {
+                stream = new ThresholdStream();
+            }
+            return stream;
+        }
+
+        private final class ThresholdStream extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                if (target == null && buffer.size() + 1 <= threshold) {
+                    buffer.write(b);
+                } else {
+                    streaming().write(b);
+                }
+            }
+
+            @Override
+            public void write(@NonNull byte[] b, int off, int len) throws IOException {
+                if (target == null && buffer.size() + len <= threshold) {
+                    buffer.write(b, off, len);
+                } else {
+                    streaming().write(b, off, len);
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (target != null) {
+                    target.flush();
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                try {
+                    getResponse().getOutputStream().setWriteListener(listener);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            // Past the threshold: send what was held back and write straight through
+            private ServletOutputStream streaming() throws IOException {
+                if (target == null) {
+                    target = getResponse().getOutputStream();
+                    buffer.writeTo(target);
+                    buffer.reset();
+                }
+                return target;
+            }
+        }
+    }
+}
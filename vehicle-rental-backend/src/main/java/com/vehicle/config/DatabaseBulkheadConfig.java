@@ -0,0 +1,60 @@
+package com.vehicle.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.NonNull;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Wraps the application DataSource in a DatabaseBulkhead. On by default only when
+// spring.threads.virtual.enabled is set, since platform request threads are already
+// bounded by Tomcat's pool; vroom.db.bulkhead.enabled overrides either way.
+@Configuration
+public class DatabaseBulkheadConfig {
+
+    @Bean
+    public static BeanPostProcessor databaseBulkheadPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof DatabaseBulkhead
+                        || !enabled(environment)) {
+                    return bean;
+                }
+                // Default to the pool size so threads wait here rather than inside the pool
+                int defaultPermits = bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+                int permits = environment.getProperty("vroom.db.bulkhead.permits", Integer.class, defaultPermits);
+                long timeoutMs = environment.getProperty("vroom.db.bulkhead.acquire-timeout-ms", Long.class, 5000L);
+                return new DatabaseBulkhead(dataSource, permits, timeoutMs);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder databaseBulkheadMetrics(DataSource dataSource) {
+        return registry -> {
+            if (!(dataSource instanceof DatabaseBulkhead current)) {
+                return;
+            }
+            Gauge.builder("vroom.db.bulkhead.available", current, DatabaseBulkhead::getAvailablePermits)
+                .register(registry);
+            Gauge.builder("vroom.db.bulkhead.waiting", current, DatabaseBulkhead::getWaiting)
+                .register(registry);
+            FunctionCounter.builder("vroom.db.bulkhead.rejected", current, DatabaseBulkhead::getRejected)
+                .register(registry);
+        };
+    }
+
+    private static boolean enabled(Environment environment) {
+        boolean virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        return environment.getProperty("vroom.db.bulkhead.enabled", Boolean.class, virtualThreads);
+    }
+}
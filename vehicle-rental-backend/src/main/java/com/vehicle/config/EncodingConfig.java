@@ -0,0 +1,30 @@
+package com.vehicle.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+// Binary encodings next to JSON: clients sending "Accept: application/cbor" or
+// "Accept: application/x-jackson-smile" get the same payload in a compact form.
+// Declared as beans so Boot's HttpMessageConverters puts them in place of Spring MVC's
+// own CBOR and Smile converters, which would otherwise be picked first and write dates
+// as timestamps. JSON stays the default because its converter is registered first.
+@Configuration
+public class EncodingConfig {
+
+    // Built from Boot's builder so dates and other settings match the JSON output
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,107 @@
+package com.vehicle.config;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.vehicle.repository.CarUnitRepository;
+import com.vehicle.service.PlateSearchIndex;
+
+import jakarta.annotation.PostConstruct;
+
+// Data and index changes the ddl-auto schema update cannot make safely. Runs once Hibernate
+// has updated the schema and before the application takes requests or loads its in-memory
+// indexes. Every step is safe to repeat and finds nothing to do once it has been applied.
+@Component
+public class SchemaMigrations {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrations.class);
+
+    @Autowired
+    private CarUnitRepository carUnitRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void migrate() {
+        normalizePlates();
+        createPlateIndex();
+    }
+
+    // Rewrites plates stored before they were normalized on write, in id order. A plate whose
+    // normalized form another unit already has is left as it is and logged for an admin to
+    // resolve; findIdsByNormalizedPlate already treats the two as the same plate.
+    void normalizePlates() {
+        List<Object[]> rows = new ArrayList<>(carUnitRepository.findAllNumberPlates());
+        Map<String, Long> owners = new HashMap<>();
+        for (Object[] row : rows) {
+            String plate = (String) row[1];
+            if (plate != null && plate.equals(PlateSearchIndex.normalize(plate))) {
+                owners.putIfAbsent(plate, (Long) row[0]);
+            }
+        }
+        rows.sort((a, b) -> Long.compare((Long) a[0], (Long) b[0]));
+        int rewritten = 0;
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            String plate = (String) row[1];
+            String normalized = PlateSearchIndex.normalize(plate);
+            if (plate == null || plate.equals(normalized) || normalized.isEmpty()) {
+                continue;
+            }
+            Long owner = owners.putIfAbsent(normalized, id);
+            if (owner != null) {
+                log.warn("Car unit {} has plate \"{}\", which is the same as unit {}'s {}; left for an admin to resolve",
+                    id, plate, owner, normalized);
+                continue;
+            }
+            jdbcTemplate.update("UPDATE car_units SET number_plate = ? WHERE id = ?", normalized, id);
+            rewritten++;
+        }
+        if (rewritten > 0) {
+            log.info("Normalized {} number plates", rewritten);
+        }
+    }
+
+    // The unique plate index is the final check against two nodes adding the same plate, so
+    // startup stops here rather than run without it when stored plates are not unique
+    void createPlateIndex() {
+        if (hasIndex("car_units", "uk_car_units_number_plate")) {
+            return;
+        }
+        List<String> duplicates = jdbcTemplate.queryForList("SELECT number_plate FROM car_units " +
+            "WHERE number_plate IS NOT NULL GROUP BY number_plate HAVING COUNT(*) > 1", String.class);
+        if (!duplicates.isEmpty()) {
+            throw new IllegalStateException("Cannot create uk_car_units_number_plate, these plates are used by " +
+                "more than one car unit: " + duplicates);
+        }
+        jdbcTemplate.execute("CREATE UNIQUE INDEX uk_car_units_number_plate ON car_units (number_plate)");
+        log.info("Created unique index uk_car_units_number_plate");
+    }
+
+    private boolean hasIndex(String table, String index) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase() : table;
+            try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), null, name, false, false)) {
+                while (indexes.next()) {
+                    if (index.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }));
+    }
+}
@@ -0,0 +1,85 @@
+package com.vehicle.config;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.vehicle.model.User;
+import com.vehicle.repository.UserRepository;
+import com.vehicle.service.TokenService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Reads the access token from "Authorization: Bearer ..." or the VROOM_TOKEN cookie and
+// exposes the claimed user as the "user" request attribute, which controllers take via
+// @RequestAttribute. Requests without a valid token simply carry no user.
+// Reads only trust the claims until the token expires; writes and admin requests re-read
+// role and status, so a suspended or deleted account loses them straight away.
+// Registered only in the security chain (see SecurityConfig), not as a servlet filter.
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String USER_ATTRIBUTE = "user";
+
+    private final TokenService tokenService;
+    private final UserRepository userRepository;
+
+    public TokenAuthenticationFilter(TokenService tokenService, UserRepository userRepository) {
+        this.tokenService = tokenService;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        tokenService.verify(resolveToken(request))
+            .filter(user -> !needsCurrentStatus(request) || refresh(user))
+            .ifPresent(user -> {
+                request.setAttribute(USER_ATTRIBUTE, user);
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    user, null, List.of(new SimpleGrantedAuthority("ROLE_" + String.valueOf(user.getRole()).toUpperCase()))));
+            });
+        filterChain.doFilter(request, response);
+    }
+
+    private static boolean needsCurrentStatus(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method))
+            || request.getRequestURI().startsWith("/api/admin/");
+    }
+
+    // Replaces the claimed role and status with the stored ones; false drops the user
+    private boolean refresh(User user) {
+        List<Object[]> rows = userRepository.findRoleAndStatusById(user.getId());
+        if (rows.isEmpty() || "suspended".equals(rows.get(0)[1])) {
+            return false;
+        }
+        user.setRole((String) rows.get(0)[0]);
+        user.setStatus((String) rows.get(0)[1]);
+        return true;
+    }
+
+    private static String resolveToken(HttpServletRequest request) {
+        String header = request.getHeader("Authorization");
+        if (header != null && header.startsWith("Bearer ")) {
+            return header.substring(7).trim();
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (TokenService.COOKIE_NAME.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,108 @@
+package com.vehicle.config;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.vehicle.model.User;
+import com.vehicle.service.ConcurrencyLimiter;
+import com.vehicle.service.RateLimiter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Rate limits and load shedding for the login, search and booking endpoints; everything
+// else passes straight through. Runs after the security chain, so signed-in clients are
+// limited per user and anonymous ones per IP. Login attempts are always limited per IP.
+@Component
+public class TrafficControlFilter extends OncePerRequestFilter {
+
+    private static final Set<String> LOGIN_PATHS = Set.of("/api/users/login", "/api/users/register");
+
+    private static final Set<String> SEARCH_PATHS = Set.of(
+        "/api/users/available-units", "/api/users/fleet-availability", "/api/users/car-models/search",
+        "/api/users/catalog", "/api/users/calendar", "/api/admin/search", "/api/admin/car-units/search");
+
+    private static final Set<String> BOOKING_PATHS = Set.of("/api/users/book", "/api/users/book/batch", "/api/users/holds");
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private ConcurrencyLimiter concurrencyLimiter;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RateLimiter.Group group = classify(request);
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = rateLimiter.tryAcquire(group, clientKey(request, group));
+        if (waitNanos > 0) {
+            reject(response, 429, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1,
+                "Too many requests, please slow down");
+            return;
+        }
+
+        ConcurrencyLimiter.Priority priority = switch (group) {
+            case SEARCH -> ConcurrencyLimiter.Priority.SEARCH;
+            case LOGIN -> ConcurrencyLimiter.Priority.LOGIN;
+            case BOOKING -> ConcurrencyLimiter.Priority.BOOKING;
+        };
+        if (!concurrencyLimiter.tryAcquire(priority)) {
+            reject(response, 503, 1, "Service is busy, please retry shortly");
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            concurrencyLimiter.release(System.nanoTime() - started);
+        }
+    }
+
+    private static RateLimiter.Group classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+        if ("POST".equals(method) && LOGIN_PATHS.contains(path)) {
+            return RateLimiter.Group.LOGIN;
+        }
+        if ("GET".equals(method) && SEARCH_PATHS.contains(path)) {
+            return RateLimiter.Group.SEARCH;
+        }
+        if ("POST".equals(method) && (BOOKING_PATHS.contains(path)
+                || path.startsWith("/api/users/") && path.endsWith("/bookings"))) {
+            return RateLimiter.Group.BOOKING;
+        }
+        return null;
+    }
+
+    // The remote address is the real client behind a trusted proxy (server.forward-headers-strategy)
+    private static String clientKey(HttpServletRequest request, RateLimiter.Group group) {
+        Object user = request.getAttribute(TokenAuthenticationFilter.USER_ATTRIBUTE);
+        if (group != RateLimiter.Group.LOGIN && user instanceof User signedIn) {
+            return "user:" + signedIn.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static void reject(HttpServletResponse response, int status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"" + message + "\"}");
+    }
+}
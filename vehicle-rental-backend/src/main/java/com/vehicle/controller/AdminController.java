@@ -1,10 +1,14 @@
 package com.vehicle.controller;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,18 +16,23 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.vehicle.model.Booking;
+import com.vehicle.dto.AdminStats;
+import com.vehicle.dto.BookingView;
+import com.vehicle.dto.FleetHeatmap;
+import com.vehicle.dto.KeysetPage;
+import com.vehicle.dto.UserSummary;
 import com.vehicle.model.CarModel;
 import com.vehicle.model.CarUnit;
 import com.vehicle.model.User;
 import com.vehicle.service.AdminService;
-
-import jakarta.servlet.http.HttpSession;
+import com.vehicle.service.BookingExportService;
 
 @RestController
 @CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
@@ -33,9 +42,11 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private BookingExportService bookingExportService;
+
     // Check if user is admin (middleware-like function)
-    private boolean isAdmin(HttpSession session) {
-        User user = (User) session.getAttribute("user");
+    private boolean isAdmin(User user) {
         return user != null && "admin".equals(user.getRole());
     }
 
@@ -43,57 +54,120 @@ public class AdminController {
     
     // Get all pending sellers for approval
     @GetMapping("/pending-sellers")
-    public ResponseEntity<List<User>> getPendingSellers(HttpSession session) {
-        if (!isAdmin(session)) {
+    public ResponseEntity<List<UserSummary>> getPendingSellers(@RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
             return ResponseEntity.status(403).build();
         }
         
-        List<User> pendingSellers = adminService.getPendingSellers();
-        // Remove passwords from response
-        pendingSellers.forEach(user -> user.setPassword(null));
+        List<UserSummary> pendingSellers = adminService.getPendingSellers();
         return ResponseEntity.ok(pendingSellers);
     }
     
-    // Get all users
+    // Get all users, or one keyset page of them when limit or cursor is given
     @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllUsers(HttpSession session) {
-        if (!isAdmin(session)) {
+    public ResponseEntity<?> getAllUsers(
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
             return ResponseEntity.status(403).build();
         }
         
-        List<User> users = adminService.getAllUsers();
-        // Remove passwords from response
-        users.forEach(user -> user.setPassword(null));
+        if (limit != null || cursor != null) {
+            try {
+                KeysetPage<UserSummary> page = adminService.getUsersPage(role, status, sort, direction, cursor, limit);
+                return ResponseEntity.ok(page);
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+            }
+        }
+        
+        List<UserSummary> users = adminService.getAllUsers();
         return ResponseEntity.ok(users);
     }
     
+    // Typeahead search over users, car models and car units
+    @GetMapping("/search")
+    public ResponseEntity<?> search(
+            @RequestParam String q,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
+            return ResponseEntity.status(403).build();
+        }
+        try {
+            return ResponseEntity.ok(adminService.search(q, types, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+    
+    // Dashboard totals; served from counters, so cheap enough to poll
+    @GetMapping("/stats")
+    public ResponseEntity<AdminStats> getStats(@RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
+            return ResponseEntity.status(403).build();
+        }
+        return ResponseEntity.ok(adminService.getStats());
+    }
+    
+    // Fleet utilization by model type and day of week over the past year; cached, refresh=true recomputes
+    @GetMapping("/fleet-heatmap")
+    public ResponseEntity<FleetHeatmap> getFleetHeatmap(
+            @RequestParam(defaultValue = "false") boolean refresh,
+            @RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
+            return ResponseEntity.status(403).build();
+        }
+        return ResponseEntity.ok(adminService.getFleetHeatmap(refresh));
+    }
+    
+    // Rebuild seller rollups for a date range, e.g. after a manual data fix
+    @PostMapping("/rollups/backfill")
+    public ResponseEntity<?> backfillSellerRollups(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
+            return ResponseEntity.status(403).build();
+        }
+        try {
+            int rows = adminService.backfillSellerRollups(LocalDate.parse(from), LocalDate.parse(to));
+            return ResponseEntity.ok(Map.of("message", "Seller rollups rebuilt", "rows", rows));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+    
     // Get all active sellers
     @GetMapping("/active-sellers")
-    public ResponseEntity<List<User>> getActiveSellers(HttpSession session) {
-        if (!isAdmin(session)) {
+    public ResponseEntity<List<UserSummary>> getActiveSellers(@RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
             return ResponseEntity.status(403).build();
         }
         
-        List<User> activeSellers = adminService.getActiveSellers();
-        // Remove passwords from response
-        activeSellers.forEach(user -> user.setPassword(null));
+        List<UserSummary> activeSellers = adminService.getActiveSellers();
         return ResponseEntity.ok(activeSellers);
     }
     
     // Approve seller account
     @PutMapping("/approve-seller/{userId}")
-    public ResponseEntity<Map<String, Object>> approveSeller(@PathVariable Long userId, HttpSession session) {
-        if (!isAdmin(session)) {
+    public ResponseEntity<Map<String, Object>> approveSeller(@PathVariable Long userId, @RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
             return ResponseEntity.status(403).build();
         }
         
         try {
             User approvedUser = adminService.approveSeller(userId);
-            approvedUser.setPassword(null); // Don't expose password
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Seller approved successfully");
-            response.put("user", approvedUser);
+            response.put("user", UserSummary.from(approvedUser));
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
@@ -104,18 +178,17 @@ public class AdminController {
     
     // Reject seller account
     @PutMapping("/reject-seller/{userId}")
-    public ResponseEntity<Map<String, Object>> rejectSeller(@PathVariable Long userId, HttpSession session) {
-        if (!isAdmin(session)) {
+    public ResponseEntity<Map<String, Object>> rejectSeller(@PathVariable Long userId, @RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
             return ResponseEntity.status(403).build();
         }
         
         try {
             User rejectedUser = adminService.rejectSeller(userId);
-            rejectedUser.setPassword(null); // Don't expose password
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Seller rejected successfully");
-            response.put("user", rejectedUser);
+            response.put("user", UserSummary.from(rejectedUser));
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
@@ -126,18 +199,17 @@ public class AdminController {
     
     // Toggle user status (suspend/activate)
     @PutMapping("/toggle-user-status/{userId}")
-    public ResponseEntity<Map<String, Object>> toggleUserStatus(@PathVariable Long userId, HttpSession session) {
-        if (!isAdmin(session)) {
+    public ResponseEntity<Map<String, Object>> toggleUserStatus(@PathVariable Long userId, @RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
             return ResponseEntity.status(403).build();
         }
         
         try {
             User updatedUser = adminService.toggleUserStatus(userId);
-            updatedUser.setPassword(null); // Don't expose password
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "User status updated successfully");
-            response.put("user", updatedUser);
+            response.put("user", UserSummary.from(updatedUser));
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
@@ -150,8 +222,8 @@ public class AdminController {
     
     // Get all car models
         @GetMapping("/car-models")
-    public ResponseEntity<List<CarModel>> getAllCarModels(HttpSession session) {
-        if (!isAdmin(session)) {
+    public ResponseEntity<List<CarModel>> getAllCarModels(@RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
             return ResponseEntity.status(403).build();
         }
         
@@ -159,20 +231,72 @@ public class AdminController {
         return ResponseEntity.ok(carModels);
     }
     
+    // Get all bookings, or one keyset page of them when limit or cursor is given
     @GetMapping("/bookings")
-    public ResponseEntity<List<Booking>> getAllBookings(HttpSession session) {
-        if (!isAdmin(session)) {
+    public ResponseEntity<?> getAllBookings(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
             return ResponseEntity.status(403).build();
         }
         
-        List<Booking> bookings = adminService.getAllBookings();
+        if (limit != null || cursor != null) {
+            try {
+                KeysetPage<BookingView> page = adminService.getBookingsPage(status,
+                    from == null ? null : LocalDate.parse(from), to == null ? null : LocalDate.parse(to),
+                    sort, direction, cursor, limit);
+                return ResponseEntity.ok(page);
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+            }
+        }
+        
+        List<BookingView> bookings = adminService.getAllBookings();
         return ResponseEntity.ok(bookings);
     }
     
+    // Stream every matching booking as NDJSON or CSV without loading them all into memory
+    @GetMapping("/bookings/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
+            return ResponseEntity.status(403).build();
+        }
+        if (!BookingExportService.isSupportedFormat(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        LocalDate fromDate;
+        LocalDate toDate;
+        try {
+            fromDate = from == null ? null : LocalDate.parse(from);
+            toDate = to == null ? null : LocalDate.parse(to);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        StreamingResponseBody body = out -> bookingExportService.export(format, status, fromDate, toDate, out);
+        return ResponseEntity.ok()
+            .contentType("csv".equals(format) ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.parseMediaType("application/x-ndjson"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings." + format + "\"")
+            .body(body);
+    }
+    
     // Get car model by ID
     @GetMapping("/car-models/{id}")
-    public ResponseEntity<CarModel> getCarModelById(@PathVariable Long id, HttpSession session) {
-        if (!isAdmin(session)) {
+    public ResponseEntity<CarModel> getCarModelById(@PathVariable Long id, @RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
             return ResponseEntity.status(403).build();
         }
         
@@ -186,8 +310,8 @@ public class AdminController {
     
     // Add a new CarModel
     @PostMapping("/car-models")
-    public ResponseEntity<?> addCarModel(@RequestBody CarModel model, HttpSession session) {
-        if (!isAdmin(session)) {
+    public ResponseEntity<?> addCarModel(@RequestBody CarModel model, @RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
             return ResponseEntity.status(403).body(Map.of("message", "Access denied"));
         }
         
@@ -203,8 +327,8 @@ public class AdminController {
     
     // Update car model
     @PutMapping("/car-models/{id}")
-    public ResponseEntity<CarModel> updateCarModel(@PathVariable Long id, @RequestBody CarModel model, HttpSession session) {
-        if (!isAdmin(session)) {
+    public ResponseEntity<CarModel> updateCarModel(@PathVariable Long id, @RequestBody CarModel model, @RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
             return ResponseEntity.status(403).build();
         }
         
@@ -219,8 +343,8 @@ public class AdminController {
     
     // Delete car model
     @DeleteMapping("/car-models/{id}")
-    public ResponseEntity<Map<String, String>> deleteCarModel(@PathVariable Long id, HttpSession session) {
-        if (!isAdmin(session)) {
+    public ResponseEntity<Map<String, String>> deleteCarModel(@PathVariable Long id, @RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
             return ResponseEntity.status(403).build();
         }
         
@@ -238,19 +362,51 @@ public class AdminController {
 
     // ===== CAR UNIT MANAGEMENT ENDPOINTS =====
     
-    // Get all CarUnits
+    // Get all CarUnits, or one keyset page of them when limit or cursor is given
     @GetMapping("/car-units")
-    public ResponseEntity<List<CarUnit>> getAllCarUnits(HttpSession session) {
-        if (!isAdmin(session)) {
+    public ResponseEntity<?> getAllCarUnits(
+            @RequestParam(required = false) Long carModelId,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
             return ResponseEntity.status(403).build();
         }
+        
+        if (limit != null || cursor != null) {
+            try {
+                return ResponseEntity.ok(adminService.getCarUnitsPage(carModelId, available, sort, direction, cursor, limit));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+            }
+        }
         return ResponseEntity.ok(adminService.getAllCarUnits());
     }
     
+    // Search car units by number plate (mode: prefix, contains or fuzzy)
+    @GetMapping("/car-units/search")
+    public ResponseEntity<?> searchCarUnits(
+            @RequestParam String plate,
+            @RequestParam(defaultValue = "prefix") String mode,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
+            return ResponseEntity.status(403).build();
+        }
+        try {
+            return ResponseEntity.ok(adminService.searchCarUnitsByPlate(plate, mode, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+    
     // Get car unit by ID
     @GetMapping("/car-units/{id}")
-    public ResponseEntity<CarUnit> getCarUnitById(@PathVariable Long id, HttpSession session) {
-        if (!isAdmin(session)) {
+    public ResponseEntity<CarUnit> getCarUnitById(@PathVariable Long id, @RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
             return ResponseEntity.status(403).build();
         }
         
@@ -264,8 +420,8 @@ public class AdminController {
     
     // Add a new CarUnit
     @PostMapping("/car-units")
-    public ResponseEntity<CarUnit> addCarUnit(@RequestBody CarUnit unit, HttpSession session) {
-        if (!isAdmin(session)) {
+    public ResponseEntity<CarUnit> addCarUnit(@RequestBody CarUnit unit, @RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
             return ResponseEntity.status(403).build();
         }
         
@@ -279,8 +435,8 @@ public class AdminController {
     
     // Update car unit
     @PutMapping("/car-units/{id}")
-    public ResponseEntity<CarUnit> updateCarUnit(@PathVariable Long id, @RequestBody CarUnit unit, HttpSession session) {
-        if (!isAdmin(session)) {
+    public ResponseEntity<CarUnit> updateCarUnit(@PathVariable Long id, @RequestBody CarUnit unit, @RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
             return ResponseEntity.status(403).build();
         }
         
@@ -295,8 +451,8 @@ public class AdminController {
     
     // Toggle availability of a unit
     @PutMapping("/car-units/{id}/availability")
-    public ResponseEntity<CarUnit> updateAvailability(@PathVariable Long id, @RequestParam boolean available, HttpSession session) {
-        if (!isAdmin(session)) {
+    public ResponseEntity<CarUnit> updateAvailability(@PathVariable Long id, @RequestParam boolean available, @RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
             return ResponseEntity.status(403).build();
         }
         
@@ -310,8 +466,8 @@ public class AdminController {
     
     // Delete a CarUnit
     @DeleteMapping("/car-units/{id}")
-    public ResponseEntity<Map<String, String>> deleteCarUnit(@PathVariable Long id, HttpSession session) {
-        if (!isAdmin(session)) {
+    public ResponseEntity<Map<String, String>> deleteCarUnit(@PathVariable Long id, @RequestAttribute(value = "user", required = false) User user) {
+        if (!isAdmin(user)) {
             return ResponseEntity.status(403).build();
         }
         
@@ -1,6 +1,7 @@
 package com.vehicle.controller;
 
 import com.vehicle.dto.BookingRequest;
+import com.vehicle.dto.BookingView;
 import com.vehicle.model.Booking;
 import com.vehicle.model.User;
 import com.vehicle.service.BookingService;
@@ -32,22 +33,22 @@ public class BookingController {
             }
             
             Booking booking = bookingService.createBooking(user.get(), request);
-            return ResponseEntity.ok(booking);
+            return ResponseEntity.ok(BookingView.from(booking));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
     
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Booking>> getUserBookings(@PathVariable Long userId) {
-        List<Booking> bookings = bookingService.getUserBookings(userId);
+    public ResponseEntity<List<BookingView>> getUserBookings(@PathVariable Long userId) {
+        List<BookingView> bookings = bookingService.getUserBookings(userId);
         return ResponseEntity.ok(bookings);
     }
     
     @GetMapping("/{id}")
     public ResponseEntity<?> getBookingById(@PathVariable Long id) {
         try {
-            Booking booking = bookingService.getBookingById(id);
+            BookingView booking = bookingService.getBookingView(id);
             return ResponseEntity.ok(booking);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
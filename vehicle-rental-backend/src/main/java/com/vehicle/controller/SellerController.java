@@ -1,5 +1,7 @@
 package com.vehicle.controller;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 
@@ -8,18 +10,21 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import com.vehicle.model.Booking;
+import com.vehicle.dto.BookingView;
+import com.vehicle.dto.SellerStats;
 import com.vehicle.model.CarModel;
 import com.vehicle.model.CarUnit;
 import com.vehicle.model.User;
+import com.vehicle.service.AggregateVersions;
 import com.vehicle.service.SellerService;
 
-import jakarta.servlet.http.HttpSession;
-
 @RestController
 @RequestMapping("/api/seller")
 @CrossOrigin(origins = "http://localhost:3000")
@@ -27,14 +32,19 @@ public class SellerController {
     
     @Autowired
     private SellerService sellerService;
+
+    @Autowired
+    private AggregateVersions aggregateVersions;
     
     @GetMapping("/my-vehicles")
-    public ResponseEntity<?> getSellerVehicles(HttpSession session) {
+    public ResponseEntity<?> getSellerVehicles(@RequestAttribute(value = "user", required = false) User user, WebRequest webRequest) {
         try {
-            User user = (User) session.getAttribute("user");
             if (user == null || !"seller".equals(user.getRole())) {
                 return ResponseEntity.status(403).body(Map.of("message", "Access denied"));
             }
+            if (webRequest.checkNotModified(aggregateVersions.sellerVehiclesETag(user.getId()))) {
+                return null;
+            }
             
             List<CarModel> vehicles = sellerService.getSellerVehicles(user.getId());
             return ResponseEntity.ok(vehicles);
@@ -44,24 +54,43 @@ public class SellerController {
     }
     
     @GetMapping("/my-bookings")
-    public ResponseEntity<?> getSellerBookings(HttpSession session) {
+    public ResponseEntity<?> getSellerBookings(@RequestAttribute(value = "user", required = false) User user) {
         try {
-            User user = (User) session.getAttribute("user");
             if (user == null || !"seller".equals(user.getRole())) {
                 return ResponseEntity.status(403).body(Map.of("message", "Access denied"));
             }
             
-            List<Booking> bookings = sellerService.getSellerBookings(user.getId());
+            List<BookingView> bookings = sellerService.getSellerBookings(user.getId());
             return ResponseEntity.ok(bookings);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         }
     }
     
+    // Earnings and utilization between two dates (inclusive), per day, model or unit
+    @GetMapping("/stats")
+    public ResponseEntity<?> getSellerStats(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(defaultValue = "day") String groupBy,
+            @RequestAttribute(value = "user", required = false) User user) {
+        try {
+            if (user == null || !"seller".equals(user.getRole())) {
+                return ResponseEntity.status(403).body(Map.of("message", "Access denied"));
+            }
+            
+            SellerStats stats = sellerService.getSellerStats(user.getId(), LocalDate.parse(from), LocalDate.parse(to), groupBy);
+            return ResponseEntity.ok(stats);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Dates must be yyyy-MM-dd"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+    
     @PostMapping("/vehicles")
-    public ResponseEntity<?> addVehicle(@RequestBody CarModel carModel, HttpSession session) {
+    public ResponseEntity<?> addVehicle(@RequestBody CarModel carModel, @RequestAttribute(value = "user", required = false) User user) {
         try {
-            User user = (User) session.getAttribute("user");
             if (user == null || !"seller".equals(user.getRole())) {
                 return ResponseEntity.status(403).body(Map.of("message", "Access denied"));
             }
@@ -76,9 +105,8 @@ public class SellerController {
     }
     
     @PostMapping("/vehicles/units")
-    public ResponseEntity<?> addVehicleUnit(@RequestBody Map<String, Object> unitData, HttpSession session) {
+    public ResponseEntity<?> addVehicleUnit(@RequestBody Map<String, Object> unitData, @RequestAttribute(value = "user", required = false) User user) {
         try {
-            User user = (User) session.getAttribute("user");
             if (user == null || !"seller".equals(user.getRole())) {
                 return ResponseEntity.status(403).body(Map.of("message", "Access denied"));
             }
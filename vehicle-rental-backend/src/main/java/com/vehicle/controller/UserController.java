@@ -1,31 +1,47 @@
 package com.vehicle.controller;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.vehicle.dto.BookingHold;
 import com.vehicle.dto.BookingRequest;
+import com.vehicle.dto.BookingView;
+import com.vehicle.dto.CarUnitView;
+import com.vehicle.dto.CatalogResult;
+import com.vehicle.dto.ModelAvailability;
+import com.vehicle.dto.ModelCalendar;
+import com.vehicle.dto.UserSummary;
 import com.vehicle.model.Booking;
 import com.vehicle.model.CarModel;
 import com.vehicle.model.CarUnit;
 import com.vehicle.model.User;
+import com.vehicle.service.AggregateVersions;
+import com.vehicle.service.TokenService;
 import com.vehicle.service.UserService;
 
-import jakarta.servlet.http.HttpSession;
-
 @RestController
 @RequestMapping("/api/users")
 @CrossOrigin(origins = "http://localhost:3000")
@@ -33,6 +49,15 @@ public class UserController {
     
     @Autowired
     private UserService userService;
+
+    @Autowired
+    private AggregateVersions aggregateVersions;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Value("${vroom.auth.cookie.secure:false}")
+    private boolean secureCookie;
     
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(@RequestBody User user) {
@@ -40,52 +65,78 @@ public class UserController {
             User registeredUser = userService.registerUser(user);
             Map<String, Object> response = new HashMap<>();
             response.put("message", "User registered successfully");
-            response.put("user", registeredUser);
+            response.put("user", UserSummary.from(registeredUser));
             return ResponseEntity.ok(response);
+        } catch (RejectedExecutionException e) {
+            // Password hashing pool is saturated; tell the client to back off briefly
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("message", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         }
     }
     
     @PostMapping("/login")
-    public ResponseEntity<?> loginUser(@RequestBody Map<String, String> loginData, HttpSession session) {
+    public ResponseEntity<?> loginUser(@RequestBody Map<String, String> loginData) {
         try {
             String email = loginData.get("email");
             String password = loginData.get("password");
             
             Optional<User> user = userService.authenticateUser(email, password);
             if (user.isPresent()) {
-                // Store user in session for admin authentication
-                session.setAttribute("user", user.get());
+                // Browsers get the token as an HttpOnly cookie, API clients from the body
+                String token = tokenService.issue(user.get());
                 
                 Map<String, Object> response = new HashMap<>();
                 response.put("message", "Login successful");
-                response.put("user", user.get());
-                return ResponseEntity.ok(response);
+                response.put("user", UserSummary.from(user.get()));
+                response.put("token", token);
+                response.put("expiresIn", tokenService.getTtl().toSeconds());
+                return ResponseEntity.ok()
+                    .header(HttpHeaders.SET_COOKIE, tokenCookie(token, tokenService.getTtl()).toString())
+                    .body(response);
             } else {
                 return ResponseEntity.badRequest().body(Map.of("message", "Invalid credentials"));
             }
+        } catch (RejectedExecutionException e) {
+            // Password hashing pool is saturated; tell the client to back off briefly
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("message", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         }
     }
     
     @PostMapping("/logout")
-    public ResponseEntity<?> logoutUser(HttpSession session) {
+    public ResponseEntity<?> logoutUser() {
         try {
-            session.invalidate();
-            return ResponseEntity.ok(Map.of("message", "Logout successful"));
+            // Tokens are not tracked server-side; dropping the cookie ends the browser session
+            return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, tokenCookie("", Duration.ZERO).toString())
+                .body(Map.of("message", "Logout successful"));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         }
     }
     
+    private ResponseCookie tokenCookie(String token, Duration maxAge) {
+        return ResponseCookie.from(TokenService.COOKIE_NAME, token)
+            .httpOnly(true)
+            .secure(secureCookie)
+            .sameSite("Lax")
+            .path("/")
+            .maxAge(maxAge)
+            .build();
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<?> getUserById(@PathVariable Long id) {
         try {
             Optional<User> user = userService.getUserById(id);
             if (user.isPresent()) {
-                return ResponseEntity.ok(user.get());
+                return ResponseEntity.ok(UserSummary.from(user.get()));
             } else {
                 return ResponseEntity.notFound().build();
             }
@@ -95,26 +146,91 @@ public class UserController {
     }
     
     @GetMapping("/car-models")
-    public ResponseEntity<List<CarModel>> getAllCarModels() {
+    public ResponseEntity<List<CarModel>> getAllCarModels(WebRequest webRequest) {
+        if (webRequest.checkNotModified(aggregateVersions.catalogETag())) {
+            return null;
+        }
         List<CarModel> carModels = userService.getAllCarModels();
         return ResponseEntity.ok(carModels);
     }
     
+    // Filtered, sorted catalog with type and rate bucket facet counts
+    @GetMapping("/catalog")
+    public ResponseEntity<?> queryCatalog(
+            @RequestParam(required = false) List<String> type,
+            @RequestParam(required = false) Long sellerId,
+            @RequestParam(required = false) Double minRate,
+            @RequestParam(required = false) Double maxRate,
+            @RequestParam(required = false) String rateBucket,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(aggregateVersions.catalogETag())) {
+            return null;
+        }
+        try {
+            CatalogResult result = userService.queryCatalog(type, sellerId, minRate, maxRate, rateBucket, sort, direction);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/car-models/search")
+    public ResponseEntity<?> searchCarModels(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(userService.searchCarModels(q, Math.max(1, Math.min(limit, 50))));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+    
     @GetMapping("/available-units")
-    public ResponseEntity<List<CarUnit>> getAvailableUnits(
+    public ResponseEntity<List<CarUnitView>> getAvailableUnits(
             @RequestParam Long carModelId,
             @RequestParam String startDate,
-            @RequestParam String endDate) {
+            @RequestParam String endDate,
+            @RequestAttribute(value = "user", required = false) User user) {
+        try {
+            LocalDate start = LocalDate.parse(startDate);
+            LocalDate end = LocalDate.parse(endDate);
+            List<CarUnit> availableUnits = userService.getAvailableUnits(carModelId, start, end, user);
+            return ResponseEntity.ok(availableUnits.stream().map(CarUnitView::from).toList());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/fleet-availability")
+    public ResponseEntity<List<ModelAvailability>> getFleetAvailability(
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Double minRate,
+            @RequestParam(required = false) Double maxRate) {
         try {
             LocalDate start = LocalDate.parse(startDate);
             LocalDate end = LocalDate.parse(endDate);
-            List<CarUnit> availableUnits = userService.getAvailableUnits(carModelId, start, end);
-            return ResponseEntity.ok(availableUnits);
+            List<ModelAvailability> availability = userService.getFleetAvailability(start, end, type, minRate, maxRate);
+            return ResponseEntity.ok(availability);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
+    @GetMapping("/calendar")
+    public ResponseEntity<?> getModelCalendar(
+            @RequestParam Long carModelId,
+            @RequestParam String startDate,
+            @RequestParam(defaultValue = "31") int days) {
+        try {
+            ModelCalendar calendar = userService.getModelCalendar(carModelId, LocalDate.parse(startDate), days);
+            return ResponseEntity.ok(calendar);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+    
     @PostMapping("/{userId}/bookings")
     public ResponseEntity<?> createBooking(@PathVariable Long userId, @RequestBody BookingRequest request) {
         try {
@@ -125,55 +241,103 @@ public class UserController {
             
             request.setUserId(userId); // Set the user ID from the path
             Booking booking = userService.createBooking(user.get(), request);
-            return ResponseEntity.ok(booking);
+            return ResponseEntity.ok(BookingView.from(booking));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         }
     }
     
     @GetMapping("/{userId}/bookings")
-    public ResponseEntity<List<Booking>> getUserBookings(@PathVariable Long userId) {
-        List<Booking> bookings = userService.getUserBookings(userId);
+    public ResponseEntity<List<BookingView>> getUserBookings(@PathVariable Long userId) {
+        List<BookingView> bookings = userService.getUserBookings(userId);
         return ResponseEntity.ok(bookings);
     }
     
     @PostMapping("/book")
-    public ResponseEntity<?> createBooking(@RequestBody BookingRequest request, HttpSession session) {
+    public ResponseEntity<?> createBooking(@RequestBody BookingRequest request, @RequestAttribute(value = "user", required = false) User user) {
         try {
-            User user = (User) session.getAttribute("user");
             if (user == null) {
                 return ResponseEntity.status(403).body(Map.of("message", "Please login to make a booking"));
             }
             
             request.setUserId(user.getId());
             Booking booking = userService.createBooking(user, request);
-            return ResponseEntity.ok(booking);
+            return ResponseEntity.ok(BookingView.from(booking));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/holds")
+    public ResponseEntity<?> placeHold(@RequestBody BookingRequest request, @RequestAttribute(value = "user", required = false) User user) {
+        try {
+            if (user == null) {
+                return ResponseEntity.status(403).body(Map.of("message", "Please login to make a booking"));
+            }
+            
+            BookingHold hold = userService.placeHold(user, request);
+            return ResponseEntity.ok(hold);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+    
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<?> releaseHold(@PathVariable String holdId, @RequestAttribute(value = "user", required = false) User user) {
+        try {
+            if (user == null) {
+                return ResponseEntity.status(403).body(Map.of("message", "Not authenticated"));
+            }
+            
+            userService.releaseHold(user, holdId);
+            return ResponseEntity.ok(Map.of("message", "Hold released"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/book/batch")
+    public ResponseEntity<?> createBookings(@RequestBody List<BookingRequest> requests, @RequestAttribute(value = "user", required = false) User user) {
+        try {
+            if (user == null) {
+                return ResponseEntity.status(403).body(Map.of("message", "Please login to make a booking"));
+            }
+            
+            requests.forEach(request -> request.setUserId(user.getId()));
+            List<Booking> bookings = userService.createBookings(user, requests);
+            return ResponseEntity.ok(bookings.stream().map(BookingView::from).toList());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         }
     }
     
     @GetMapping("/profile")
-    public ResponseEntity<?> getUserProfile(HttpSession session) {
+    public ResponseEntity<?> getUserProfile(@RequestAttribute(value = "user", required = false) User user) {
         try {
-            User user = (User) session.getAttribute("user");
             if (user == null) {
                 return ResponseEntity.status(403).body(Map.of("message", "Not authenticated"));
             }
-            return ResponseEntity.ok(Map.of("user", user));
+            // The token only carries a few claims; the profile needs the full record
+            Optional<User> profile = userService.getUserById(user.getId());
+            if (profile.isEmpty()) {
+                return ResponseEntity.status(403).body(Map.of("message", "Not authenticated"));
+            }
+            return ResponseEntity.ok(Map.of("user", UserSummary.from(profile.get())));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         }
     }
     
     @GetMapping("/my-bookings")
-    public ResponseEntity<List<Booking>> getMyBookings(HttpSession session) {
+    public ResponseEntity<List<BookingView>> getMyBookings(@RequestAttribute(value = "user", required = false) User user, WebRequest webRequest) {
         try {
-            User user = (User) session.getAttribute("user");
             if (user == null) {
                 return ResponseEntity.status(403).build();
             }
-            List<Booking> bookings = userService.getUserBookings(user.getId());
+            List<BookingView> bookings = userService.getUserBookings(user.getId());
+            if (webRequest.checkNotModified(aggregateVersions.userBookingsETag(user.getId(), bookings))) {
+                return null;
+            }
             return ResponseEntity.ok(bookings);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
@@ -0,0 +1,91 @@
+package com.vehicle.dto;
+
+import java.util.Map;
+
+public class AdminStats {
+    private long totalUsers;
+    private Map<String, Long> usersByRole;
+    private Map<String, Long> usersByStatus;
+    private long pendingSellers;
+    private long totalBookings;
+    private Map<String, Long> bookingsByStatus;
+    private double revenue; // total cost of all bookings that are not cancelled
+    private long totalCarUnits;
+    private long availableCarUnits;
+
+    // Default constructor
+    public AdminStats() {}
+
+    // Getters and Setters
+    public long getTotalUsers() {
+        return totalUsers;
+    }
+
+    public void setTotalUsers(long totalUsers) {
+        this.totalUsers = totalUsers;
+    }
+
+    public Map<String, Long> getUsersByRole() {
+        return usersByRole;
+    }
+
+    public void setUsersByRole(Map<String, Long> usersByRole) {
+        this.usersByRole = usersByRole;
+    }
+
+    public Map<String, Long> getUsersByStatus() {
+        return usersByStatus;
+    }
+
+    public void setUsersByStatus(Map<String, Long> usersByStatus) {
+        this.usersByStatus = usersByStatus;
+    }
+
+    public long getPendingSellers() {
+        return pendingSellers;
+    }
+
+    public void setPendingSellers(long pendingSellers) {
+        this.pendingSellers = pendingSellers;
+    }
+
+    public long getTotalBookings() {
+        return totalBookings;
+    }
+
+    public void setTotalBookings(long totalBookings) {
+        this.totalBookings = totalBookings;
+    }
+
+    public Map<String, Long> getBookingsByStatus() {
+        return bookingsByStatus;
+    }
+
+    public void setBookingsByStatus(Map<String, Long> bookingsByStatus) {
+        this.bookingsByStatus = bookingsByStatus;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(double revenue) {
+        this.revenue = revenue;
+    }
+
+    public long getTotalCarUnits() {
+        return totalCarUnits;
+    }
+
+    public void setTotalCarUnits(long totalCarUnits) {
+        this.totalCarUnits = totalCarUnits;
+    }
+
+    public long getAvailableCarUnits() {
+        return availableCarUnits;
+    }
+
+    public void setAvailableCarUnits(long availableCarUnits) {
+        this.availableCarUnits = availableCarUnits;
+    }
+}
@@ -0,0 +1,97 @@
+package com.vehicle.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+public class BookingHold {
+    private String id;
+    @JsonIgnore
+    private Long userId;
+    private Long carUnitId;
+    private Long carModelId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDateTime expiresAt;
+
+    // Default constructor
+    public BookingHold() {}
+
+    // Constructor with parameters
+    public BookingHold(String id, Long userId, Long carUnitId, Long carModelId,
+                       LocalDate startDate, LocalDate endDate, LocalDateTime expiresAt) {
+        this.id = id;
+        this.userId = userId;
+        this.carUnitId = carUnitId;
+        this.carModelId = carModelId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired() {
+        return !LocalDateTime.now().isBefore(expiresAt);
+    }
+
+    public boolean overlaps(LocalDate start, LocalDate end) {
+        return !startDate.isAfter(end) && !endDate.isBefore(start);
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getCarUnitId() {
+        return carUnitId;
+    }
+
+    public void setCarUnitId(Long carUnitId) {
+        this.carUnitId = carUnitId;
+    }
+
+    public Long getCarModelId() {
+        return carModelId;
+    }
+
+    public void setCarModelId(Long carModelId) {
+        this.carModelId = carModelId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -7,6 +7,7 @@ public class BookingRequest {
     private Long carUnitId;
     private LocalDate startDate;
     private LocalDate endDate;
+    private String holdId; // optional, from POST /api/users/holds
 
     // Default constructor
     public BookingRequest() {}
@@ -51,4 +52,12 @@ public class BookingRequest {
     public void setEndDate(LocalDate endDate) {
         this.endDate = endDate;
     }
+
+    public String getHoldId() {
+        return holdId;
+    }
+
+    public void setHoldId(String holdId) {
+        this.holdId = holdId;
+    }
 }
@@ -0,0 +1,119 @@
+package com.vehicle.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.vehicle.model.Booking;
+
+// Read model of a booking with just the user, unit and model columns the booking
+// screens render, so responses never serialize entities or their lazy associations.
+public class BookingView {
+    private Long id;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private double totalCost;
+    private String status;
+    private LocalDateTime createdAt;
+    private UserSummary user;
+    private CarUnitView carUnit;
+
+    // Default constructor
+    public BookingView() {}
+
+    // Constructor with parameters
+    public BookingView(Long id, LocalDate startDate, LocalDate endDate, double totalCost, String status,
+                       LocalDateTime createdAt, UserSummary user, CarUnitView carUnit) {
+        this.id = id;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.totalCost = totalCost;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.user = user;
+        this.carUnit = carUnit;
+    }
+
+    // Flat form used by JPQL constructor expressions
+    public BookingView(Long id, LocalDate startDate, LocalDate endDate, double totalCost, String status,
+                       LocalDateTime createdAt, Long userId, String userName, String userEmail, String userPhone,
+                       Long carUnitId, String numberPlate, Boolean available, Long carModelId, String carModelName,
+                       String carModelType, String imageUrl, Double perDayRate, Long sellerId) {
+        this(id, startDate, endDate, totalCost, status, createdAt,
+            userId == null ? null : new UserSummary(userId, userName, userEmail, userPhone),
+            carUnitId == null ? null : new CarUnitView(carUnitId, numberPlate, Boolean.TRUE.equals(available),
+                carModelId, carModelName, carModelType, imageUrl, perDayRate, sellerId));
+    }
+
+    public static BookingView from(Booking booking) {
+        return new BookingView(booking.getId(), booking.getStartDate(), booking.getEndDate(), booking.getTotalCost(),
+            booking.getStatus(), booking.getCreatedAt(),
+            booking.getUser() == null ? null : new UserSummary(booking.getUser().getId(), booking.getUser().getName(),
+                booking.getUser().getEmail(), booking.getUser().getPhone()),
+            CarUnitView.from(booking.getCarUnit()));
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    public void setTotalCost(double totalCost) {
+        this.totalCost = totalCost;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public UserSummary getUser() {
+        return user;
+    }
+
+    public void setUser(UserSummary user) {
+        this.user = user;
+    }
+
+    public CarUnitView getCarUnit() {
+        return carUnit;
+    }
+
+    public void setCarUnit(CarUnitView carUnit) {
+        this.carUnit = carUnit;
+    }
+}
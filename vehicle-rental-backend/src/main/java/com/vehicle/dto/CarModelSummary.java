@@ -0,0 +1,80 @@
+package com.vehicle.dto;
+
+import com.vehicle.model.CarModel;
+
+// Catalog columns of a car model as shown next to units and bookings
+public class CarModelSummary {
+    private Long id;
+    private String name;
+    private String type;
+    private String imageUrl;
+    private double perDayRate;
+    private Long sellerId;
+
+    // Default constructor
+    public CarModelSummary() {}
+
+    // Constructor with parameters
+    public CarModelSummary(Long id, String name, String type, String imageUrl, double perDayRate, Long sellerId) {
+        this.id = id;
+        this.name = name;
+        this.type = type;
+        this.imageUrl = imageUrl;
+        this.perDayRate = perDayRate;
+        this.sellerId = sellerId;
+    }
+
+    public static CarModelSummary from(CarModel model) {
+        return model == null ? null : new CarModelSummary(model.getId(), model.getName(), model.getType(),
+            model.getImageUrl(), model.getPerDayRate(), model.getSellerId());
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public double getPerDayRate() {
+        return perDayRate;
+    }
+
+    public void setPerDayRate(double perDayRate) {
+        this.perDayRate = perDayRate;
+    }
+
+    public Long getSellerId() {
+        return sellerId;
+    }
+
+    public void setSellerId(Long sellerId) {
+        this.sellerId = sellerId;
+    }
+}
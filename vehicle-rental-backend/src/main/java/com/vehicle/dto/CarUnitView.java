@@ -0,0 +1,67 @@
+package com.vehicle.dto;
+
+import com.vehicle.model.CarUnit;
+
+public class CarUnitView {
+    private Long id;
+    private String numberPlate;
+    private boolean available;
+    private CarModelSummary carModel;
+
+    // Default constructor
+    public CarUnitView() {}
+
+    // Constructor with parameters
+    public CarUnitView(Long id, String numberPlate, boolean available, CarModelSummary carModel) {
+        this.id = id;
+        this.numberPlate = numberPlate;
+        this.available = available;
+        this.carModel = carModel;
+    }
+
+    // Flat form used by JPQL constructor expressions
+    public CarUnitView(Long id, String numberPlate, boolean available, Long carModelId, String carModelName,
+                       String carModelType, String imageUrl, Double perDayRate, Long sellerId) {
+        this(id, numberPlate, available, carModelId == null ? null
+            : new CarModelSummary(carModelId, carModelName, carModelType, imageUrl,
+                perDayRate == null ? 0 : perDayRate, sellerId));
+    }
+
+    public static CarUnitView from(CarUnit unit) {
+        return unit == null ? null : new CarUnitView(unit.getId(), unit.getNumberPlate(), unit.isAvailable(),
+            CarModelSummary.from(unit.getCarModel()));
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNumberPlate() {
+        return numberPlate;
+    }
+
+    public void setNumberPlate(String numberPlate) {
+        this.numberPlate = numberPlate;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    public CarModelSummary getCarModel() {
+        return carModel;
+    }
+
+    public void setCarModel(CarModelSummary carModel) {
+        this.carModel = carModel;
+    }
+}
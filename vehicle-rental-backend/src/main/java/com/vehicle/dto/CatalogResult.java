@@ -0,0 +1,57 @@
+package com.vehicle.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.vehicle.model.CarModel;
+
+public class CatalogResult {
+    private List<CarModel> items;
+    private long total;
+    private Map<String, Long> typeFacets; // models per type under the other filters
+    private List<RateFacet> rateFacets; // models per rate bucket under the other filters
+
+    // Default constructor
+    public CatalogResult() {}
+
+    // Constructor with parameters
+    public CatalogResult(List<CarModel> items, long total, Map<String, Long> typeFacets, List<RateFacet> rateFacets) {
+        this.items = items;
+        this.total = total;
+        this.typeFacets = typeFacets;
+        this.rateFacets = rateFacets;
+    }
+
+    // Getters and Setters
+    public List<CarModel> getItems() {
+        return items;
+    }
+
+    public void setItems(List<CarModel> items) {
+        this.items = items;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<String, Long> getTypeFacets() {
+        return typeFacets;
+    }
+
+    public void setTypeFacets(Map<String, Long> typeFacets) {
+        this.typeFacets = typeFacets;
+    }
+
+    public List<RateFacet> getRateFacets() {
+        return rateFacets;
+    }
+
+    public void setRateFacets(List<RateFacet> rateFacets) {
+        this.rateFacets = rateFacets;
+    }
+}
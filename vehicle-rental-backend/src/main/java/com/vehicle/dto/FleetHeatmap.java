@@ -0,0 +1,66 @@
+package com.vehicle.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class FleetHeatmap {
+    private LocalDate from;
+    private LocalDate to;
+    private List<String> days; // column order of every row, MONDAY to SUNDAY
+    private List<FleetHeatmapRow> rows; // one per car model type
+    private long bookingsScanned;
+    private LocalDateTime computedAt;
+
+    // Default constructor
+    public FleetHeatmap() {}
+
+    // Getters and Setters
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public List<String> getDays() {
+        return days;
+    }
+
+    public void setDays(List<String> days) {
+        this.days = days;
+    }
+
+    public List<FleetHeatmapRow> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<FleetHeatmapRow> rows) {
+        this.rows = rows;
+    }
+
+    public long getBookingsScanned() {
+        return bookingsScanned;
+    }
+
+    public void setBookingsScanned(long bookingsScanned) {
+        this.bookingsScanned = bookingsScanned;
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(LocalDateTime computedAt) {
+        this.computedAt = computedAt;
+    }
+}
@@ -0,0 +1,52 @@
+package com.vehicle.dto;
+
+public class FleetHeatmapRow {
+    private String type;
+    private long units;
+    private long[] bookedDays; // unit-days booked, Monday first
+    private double[] utilization; // percent of unit-days booked, Monday first
+
+    // Default constructor
+    public FleetHeatmapRow() {}
+
+    // Constructor with parameters
+    public FleetHeatmapRow(String type, long units, long[] bookedDays, double[] utilization) {
+        this.type = type;
+        this.units = units;
+        this.bookedDays = bookedDays;
+        this.utilization = utilization;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public void setUnits(long units) {
+        this.units = units;
+    }
+
+    public long[] getBookedDays() {
+        return bookedDays;
+    }
+
+    public void setBookedDays(long[] bookedDays) {
+        this.bookedDays = bookedDays;
+    }
+
+    public double[] getUtilization() {
+        return utilization;
+    }
+
+    public void setUtilization(double[] utilization) {
+        this.utilization = utilization;
+    }
+}
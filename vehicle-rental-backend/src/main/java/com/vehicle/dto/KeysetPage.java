@@ -0,0 +1,34 @@
+package com.vehicle.dto;
+
+import java.util.List;
+
+public class KeysetPage<T> {
+    private List<T> items;
+    private String nextCursor; // null on the last page
+
+    // Default constructor
+    public KeysetPage() {}
+
+    // Constructor with parameters
+    public KeysetPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,44 @@
+package com.vehicle.dto;
+
+import com.vehicle.model.CarModel;
+
+public class ModelAvailability {
+    private CarModel carModel;
+    private long availableUnits;
+    private Long sampleUnitId;
+
+    // Default constructor
+    public ModelAvailability() {}
+
+    // Constructor with parameters
+    public ModelAvailability(CarModel carModel, long availableUnits, Long sampleUnitId) {
+        this.carModel = carModel;
+        this.availableUnits = availableUnits;
+        this.sampleUnitId = sampleUnitId;
+    }
+
+    // Getters and Setters
+    public CarModel getCarModel() {
+        return carModel;
+    }
+
+    public void setCarModel(CarModel carModel) {
+        this.carModel = carModel;
+    }
+
+    public long getAvailableUnits() {
+        return availableUnits;
+    }
+
+    public void setAvailableUnits(long availableUnits) {
+        this.availableUnits = availableUnits;
+    }
+
+    public Long getSampleUnitId() {
+        return sampleUnitId;
+    }
+
+    public void setSampleUnitId(Long sampleUnitId) {
+        this.sampleUnitId = sampleUnitId;
+    }
+}
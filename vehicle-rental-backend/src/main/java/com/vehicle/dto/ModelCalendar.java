@@ -0,0 +1,55 @@
+package com.vehicle.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class ModelCalendar {
+    private Long carModelId;
+    private LocalDate startDate;
+    private int days;
+    private List<UnitCalendar> units;
+
+    // Default constructor
+    public ModelCalendar() {}
+
+    // Constructor with parameters
+    public ModelCalendar(Long carModelId, LocalDate startDate, int days, List<UnitCalendar> units) {
+        this.carModelId = carModelId;
+        this.startDate = startDate;
+        this.days = days;
+        this.units = units;
+    }
+
+    // Getters and Setters
+    public Long getCarModelId() {
+        return carModelId;
+    }
+
+    public void setCarModelId(Long carModelId) {
+        this.carModelId = carModelId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public void setDays(int days) {
+        this.days = days;
+    }
+
+    public List<UnitCalendar> getUnits() {
+        return units;
+    }
+
+    public void setUnits(List<UnitCalendar> units) {
+        this.units = units;
+    }
+}
@@ -0,0 +1,52 @@
+package com.vehicle.dto;
+
+public class RateFacet {
+    private String key; // e.g. "1000-2000"; the last bucket is open-ended, e.g. "5000+"
+    private double minRate; // inclusive
+    private Double maxRate; // exclusive, null for the last bucket
+    private long count;
+
+    // Default constructor
+    public RateFacet() {}
+
+    // Constructor with parameters
+    public RateFacet(String key, double minRate, Double maxRate, long count) {
+        this.key = key;
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public double getMinRate() {
+        return minRate;
+    }
+
+    public void setMinRate(double minRate) {
+        this.minRate = minRate;
+    }
+
+    public Double getMaxRate() {
+        return maxRate;
+    }
+
+    public void setMaxRate(Double maxRate) {
+        this.maxRate = maxRate;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
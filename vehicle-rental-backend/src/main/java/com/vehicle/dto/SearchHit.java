@@ -0,0 +1,62 @@
+package com.vehicle.dto;
+
+public class SearchHit {
+    private String type; // user, model or unit
+    private Long id;
+    private String title;
+    private String subtitle;
+    private double score;
+
+    // Default constructor
+    public SearchHit() {}
+
+    // Constructor with parameters
+    public SearchHit(String type, Long id, String title, String subtitle, double score) {
+        this.type = type;
+        this.id = id;
+        this.title = title;
+        this.subtitle = subtitle;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getSubtitle() {
+        return subtitle;
+    }
+
+    public void setSubtitle(String subtitle) {
+        this.subtitle = subtitle;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
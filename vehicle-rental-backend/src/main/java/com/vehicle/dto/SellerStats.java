@@ -0,0 +1,83 @@
+package com.vehicle.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class SellerStats {
+    private LocalDate from;
+    private LocalDate to;
+    private String groupBy; // day, model or unit
+    private long units; // units the seller owns now; utilization is measured against these
+    private long bookedDays;
+    private double revenue;
+    private double utilization;
+    private List<SellerStatsRow> rows;
+
+    // Default constructor
+    public SellerStats() {}
+
+    // Getters and Setters
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public String getGroupBy() {
+        return groupBy;
+    }
+
+    public void setGroupBy(String groupBy) {
+        this.groupBy = groupBy;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public void setUnits(long units) {
+        this.units = units;
+    }
+
+    public long getBookedDays() {
+        return bookedDays;
+    }
+
+    public void setBookedDays(long bookedDays) {
+        this.bookedDays = bookedDays;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(double revenue) {
+        this.revenue = revenue;
+    }
+
+    public double getUtilization() {
+        return utilization;
+    }
+
+    public void setUtilization(double utilization) {
+        this.utilization = utilization;
+    }
+
+    public List<SellerStatsRow> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<SellerStatsRow> rows) {
+        this.rows = rows;
+    }
+}
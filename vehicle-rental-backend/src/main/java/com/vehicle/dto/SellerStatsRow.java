@@ -0,0 +1,62 @@
+package com.vehicle.dto;
+
+public class SellerStatsRow {
+    private String key; // date (yyyy-MM-dd), car model id or car unit id, depending on the grouping
+    private String label; // model name or number plate; the date again when grouped by day
+    private long bookedDays;
+    private double revenue;
+    private double utilization; // percent of the available unit-days that were booked
+
+    // Default constructor
+    public SellerStatsRow() {}
+
+    // Constructor with parameters
+    public SellerStatsRow(String key, String label, long bookedDays, double revenue, double utilization) {
+        this.key = key;
+        this.label = label;
+        this.bookedDays = bookedDays;
+        this.revenue = revenue;
+        this.utilization = utilization;
+    }
+
+    // Getters and Setters
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public long getBookedDays() {
+        return bookedDays;
+    }
+
+    public void setBookedDays(long bookedDays) {
+        this.bookedDays = bookedDays;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(double revenue) {
+        this.revenue = revenue;
+    }
+
+    public double getUtilization() {
+        return utilization;
+    }
+
+    public void setUtilization(double utilization) {
+        this.utilization = utilization;
+    }
+}
@@ -0,0 +1,52 @@
+package com.vehicle.dto;
+
+public class UnitCalendar {
+    private Long carUnitId;
+    private String numberPlate;
+    private boolean available;
+    private String booked; // one character per day: '1' booked, '0' free
+
+    // Default constructor
+    public UnitCalendar() {}
+
+    // Constructor with parameters
+    public UnitCalendar(Long carUnitId, String numberPlate, boolean available, String booked) {
+        this.carUnitId = carUnitId;
+        this.numberPlate = numberPlate;
+        this.available = available;
+        this.booked = booked;
+    }
+
+    // Getters and Setters
+    public Long getCarUnitId() {
+        return carUnitId;
+    }
+
+    public void setCarUnitId(Long carUnitId) {
+        this.carUnitId = carUnitId;
+    }
+
+    public String getNumberPlate() {
+        return numberPlate;
+    }
+
+    public void setNumberPlate(String numberPlate) {
+        this.numberPlate = numberPlate;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    public String getBooked() {
+        return booked;
+    }
+
+    public void setBooked(String booked) {
+        this.booked = booked;
+    }
+}
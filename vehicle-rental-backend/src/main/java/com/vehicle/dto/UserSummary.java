@@ -0,0 +1,111 @@
+package com.vehicle.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import com.vehicle.model.User;
+
+// Public profile of a user; never carries the password hash. Booking rows only
+// fill in the contact fields, the rest are left out of the JSON.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserSummary {
+    private Long id;
+    private String name;
+    private String email;
+    private String phone;
+    private String drivingLicense;
+    private String role;
+    private String status;
+    private LocalDateTime createdAt;
+
+    // Default constructor
+    public UserSummary() {}
+
+    // Constructor with parameters
+    public UserSummary(Long id, String name, String email, String phone) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+    }
+
+    public UserSummary(Long id, String name, String email, String phone, String drivingLicense,
+                       String role, String status, LocalDateTime createdAt) {
+        this(id, name, email, phone);
+        this.drivingLicense = drivingLicense;
+        this.role = role;
+        this.status = status;
+        this.createdAt = createdAt;
+    }
+
+    public static UserSummary from(User user) {
+        return user == null ? null : new UserSummary(user.getId(), user.getName(), user.getEmail(), user.getPhone(),
+            user.getDrivingLicense(), user.getRole(), user.getStatus(), user.getCreatedAt());
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public String getDrivingLicense() {
+        return drivingLicense;
+    }
+
+    public void setDrivingLicense(String drivingLicense) {
+        this.drivingLicense = drivingLicense;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
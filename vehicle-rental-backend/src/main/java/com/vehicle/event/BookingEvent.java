@@ -0,0 +1,35 @@
+package com.vehicle.event;
+
+import com.vehicle.model.Booking;
+
+// Published inside the booking transaction whenever a booking is created or cancelled
+public class BookingEvent {
+
+    public enum Type {
+        CREATED, CANCELLED
+    }
+
+    private final Type type;
+    private final Booking booking;
+
+    public BookingEvent(Type type, Booking booking) {
+        this.type = type;
+        this.booking = booking;
+    }
+
+    public static BookingEvent created(Booking booking) {
+        return new BookingEvent(Type.CREATED, booking);
+    }
+
+    public static BookingEvent cancelled(Booking booking) {
+        return new BookingEvent(Type.CANCELLED, booking);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+}
@@ -0,0 +1,41 @@
+package com.vehicle.event;
+
+import com.vehicle.model.CarModel;
+
+// Published after a car model has been saved or deleted
+public class CarModelEvent {
+
+    public enum Type {
+        SAVED, DELETED
+    }
+
+    private final Type type;
+    private final Long carModelId;
+    private final CarModel carModel; // null for deletions
+
+    public CarModelEvent(Type type, Long carModelId, CarModel carModel) {
+        this.type = type;
+        this.carModelId = carModelId;
+        this.carModel = carModel;
+    }
+
+    public static CarModelEvent saved(CarModel carModel) {
+        return new CarModelEvent(Type.SAVED, carModel.getId(), carModel);
+    }
+
+    public static CarModelEvent deleted(Long carModelId) {
+        return new CarModelEvent(Type.DELETED, carModelId, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getCarModelId() {
+        return carModelId;
+    }
+
+    public CarModel getCarModel() {
+        return carModel;
+    }
+}
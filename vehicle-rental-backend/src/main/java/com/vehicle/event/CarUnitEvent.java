@@ -0,0 +1,35 @@
+package com.vehicle.event;
+
+import com.vehicle.model.CarUnit;
+
+// Published after a car unit has been saved or deleted
+public class CarUnitEvent {
+
+    public enum Type {
+        SAVED, DELETED
+    }
+
+    private final Type type;
+    private final CarUnit carUnit;
+
+    public CarUnitEvent(Type type, CarUnit carUnit) {
+        this.type = type;
+        this.carUnit = carUnit;
+    }
+
+    public static CarUnitEvent saved(CarUnit carUnit) {
+        return new CarUnitEvent(Type.SAVED, carUnit);
+    }
+
+    public static CarUnitEvent deleted(CarUnit carUnit) {
+        return new CarUnitEvent(Type.DELETED, carUnit);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public CarUnit getCarUnit() {
+        return carUnit;
+    }
+}
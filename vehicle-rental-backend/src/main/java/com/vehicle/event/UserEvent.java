@@ -0,0 +1,41 @@
+package com.vehicle.event;
+
+import com.vehicle.model.User;
+
+// Published after a user has been registered or their account status changed
+public class UserEvent {
+
+    public enum Type {
+        REGISTERED, STATUS_CHANGED
+    }
+
+    private final Type type;
+    private final User user;
+    private final String previousStatus;
+
+    public UserEvent(Type type, User user, String previousStatus) {
+        this.type = type;
+        this.user = user;
+        this.previousStatus = previousStatus;
+    }
+
+    public static UserEvent registered(User user) {
+        return new UserEvent(Type.REGISTERED, user, null);
+    }
+
+    public static UserEvent statusChanged(User user, String previousStatus) {
+        return new UserEvent(Type.STATUS_CHANGED, user, previousStatus);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+}
@@ -1,15 +1,24 @@
 package com.vehicle.model;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "car_units")
+@NamedEntityGraph(name = "CarUnit.withModel", attributeNodes = @NamedAttributeNode("carModel"))
+// The unique plate index (uk_car_units_number_plate) is created by SchemaMigrations once it
+// has checked for duplicates; ddl-auto would skip it on a failure without stopping startup
+@Table(name = "car_units", indexes = {
+    @Index(name = "idx_car_units_number_plate", columnList = "number_plate, id")
+})
 public class CarUnit {
 
     @Id
@@ -20,7 +29,7 @@ public class CarUnit {
 
     private boolean available;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "car_model_id")
     private CarModel carModel;
 
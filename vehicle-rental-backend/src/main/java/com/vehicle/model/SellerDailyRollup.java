@@ -0,0 +1,89 @@
+package com.vehicle.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+// Booked days and revenue of one car unit on one day. Model and seller are copied in so the
+// seller stats read only this table; rows are kept up to date by SellerRollupService.
+@Entity
+@Table(name = "seller_daily_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_seller_daily_rollups_unit_date", columnNames = {"car_unit_id", "rollup_date"})
+}, indexes = {
+    @Index(name = "idx_seller_daily_rollups_seller_date", columnList = "seller_id, rollup_date")
+})
+public class SellerDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long sellerId;
+    private Long carModelId;
+    private Long carUnitId;
+    private LocalDate rollupDate;
+    private int bookedDays; // 0 or 1 per unit; stored as a count so rows can be summed and adjusted
+    private double revenue;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getSellerId() {
+        return sellerId;
+    }
+
+    public void setSellerId(Long sellerId) {
+        this.sellerId = sellerId;
+    }
+
+    public Long getCarModelId() {
+        return carModelId;
+    }
+
+    public void setCarModelId(Long carModelId) {
+        this.carModelId = carModelId;
+    }
+
+    public Long getCarUnitId() {
+        return carUnitId;
+    }
+
+    public void setCarUnitId(Long carUnitId) {
+        this.carUnitId = carUnitId;
+    }
+
+    public LocalDate getRollupDate() {
+        return rollupDate;
+    }
+
+    public void setRollupDate(LocalDate rollupDate) {
+        this.rollupDate = rollupDate;
+    }
+
+    public int getBookedDays() {
+        return bookedDays;
+    }
+
+    public void setBookedDays(int bookedDays) {
+        this.bookedDays = bookedDays;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(double revenue) {
+        this.revenue = revenue;
+    }
+}
@@ -7,10 +7,15 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_role_status", columnList = "role, status, id"),
+    @Index(name = "idx_users_created_at", columnList = "created_at, id"),
+    @Index(name = "idx_users_name", columnList = "name, id")
+})
 public class User {
     
     @Id
@@ -2,16 +2,31 @@ package com.vehicle.repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.vehicle.dto.BookingView;
 import com.vehicle.model.Booking;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking> {
+
+    // Booking rows with only the user, unit and model columns the booking screens show
+    String BOOKING_VIEW = "SELECT new com.vehicle.dto.BookingView(b.id, b.startDate, b.endDate, b.totalCost, " +
+            "b.status, b.createdAt, u.id, u.name, u.email, u.phone, cu.id, cu.numberPlate, cu.available, " +
+            "cm.id, cm.name, cm.type, cm.imageUrl, cm.perDayRate, cm.sellerId) " +
+            "FROM Booking b LEFT JOIN b.user u LEFT JOIN b.carUnit cu LEFT JOIN cu.carModel cm";
 
     List<Booking> findByUserId(Long userId);
 
@@ -25,7 +40,77 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                           @Param("startDate") LocalDate startDate,
                                           @Param("endDate") LocalDate endDate);
 
+    // Booked ranges on any of the units that overlap [startDate, endDate], as [carUnitId, startDate, endDate]
+    @Query("SELECT b.carUnit.id, b.startDate, b.endDate FROM Booking b WHERE b.carUnit.id IN :carUnitIds " +
+           "AND b.startDate <= :endDate AND b.endDate >= :startDate")
+    List<Object[]> findBookedRangesForUnits(@Param("carUnitIds") java.util.Collection<Long> carUnitIds,
+                                            @Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT b.carUnit.id, b.startDate, b.endDate FROM Booking b " +
+           "WHERE b.startDate <= :endDate AND b.endDate >= :startDate")
+    List<Object[]> findBookedRangesBetween(@Param("startDate") LocalDate startDate,
+                                           @Param("endDate") LocalDate endDate);
+
+    // [bookingId, carUnitId, startDate, endDate] of bookings that have not ended before the given day
+    @Query("SELECT b.id, b.carUnit.id, b.startDate, b.endDate FROM Booking b WHERE b.endDate >= :from")
+    List<Object[]> findBookedRangesEndingFrom(@Param("from") LocalDate from);
+
+    // [status, count, sum of totalCost] for the admin dashboard totals
+    @Query("SELECT b.status, COUNT(b), SUM(b.totalCost) FROM Booking b GROUP BY b.status")
+    List<Object[]> countAndSumByStatus();
+
+    // [carUnitId, carModelId, sellerId, startDate, endDate, totalCost] for seller-owned bookings
+    // overlapping [from, to], for rebuilding the seller rollups
+    @Query("SELECT cu.id, cm.id, cm.sellerId, b.startDate, b.endDate, b.totalCost FROM Booking b " +
+           "JOIN b.carUnit cu JOIN cu.carModel cm WHERE cm.sellerId IS NOT NULL " +
+           "AND b.startDate <= :to AND b.endDate >= :from")
+    List<Object[]> findRollupSourcesBetween(@Param("from") LocalDate from,
+                                            @Param("to") LocalDate to);
+
+    // Next chunk of [id, model type, startDate, endDate] after a booking id, for bookings
+    // overlapping [from, to]; keyset on the id so every chunk costs the same
+    @Query("SELECT b.id, cm.type, b.startDate, b.endDate FROM Booking b JOIN b.carUnit cu JOIN cu.carModel cm " +
+           "WHERE b.id > :afterId AND b.startDate <= :to AND b.endDate >= :from ORDER BY b.id")
+    List<Object[]> findTypedRangesAfter(@Param("afterId") Long afterId,
+                                        @Param("from") LocalDate from,
+                                        @Param("to") LocalDate to,
+                                        Limit limit);
+
+    // [earliest start date, latest end date], both null when there are no bookings
+    @Query("SELECT MIN(b.startDate), MAX(b.endDate) FROM Booking b")
+    List<Object[]> findBookedDateBounds();
+
+    @Query(BOOKING_VIEW + " WHERE u.id = :userId ORDER BY b.createdAt DESC")
+    List<BookingView> findViewsByUserId(@Param("userId") Long userId);
+
+    @Query(BOOKING_VIEW + " WHERE b.id = :id")
+    Optional<BookingView> findViewById(@Param("id") Long id);
+
+    @Query(BOOKING_VIEW + " ORDER BY b.id")
+    List<BookingView> findAllViews();
+
+    @Query(BOOKING_VIEW + " WHERE cm.sellerId = :sellerId ORDER BY b.createdAt DESC")
+    List<BookingView> findViewsBySellerId(@Param("sellerId") Long sellerId);
+
+    // Forward-only cursor over booking rows for exports; must be consumed inside a transaction.
+    // On MySQL the fetch size only streams with useCursorFetch=true on the connection URL.
+    @QueryHints({
+        @QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(BOOKING_VIEW + " WHERE (:status IS NULL OR b.status = :status) " +
+           "AND (:from IS NULL OR b.startDate >= :from) AND (:to IS NULL OR b.startDate <= :to) ORDER BY b.id")
+    Stream<BookingView> streamViews(@Param("status") String status,
+                                    @Param("from") LocalDate from,
+                                    @Param("to") LocalDate to);
+
     @Query("SELECT b FROM Booking b JOIN FETCH b.carUnit cu JOIN FETCH cu.carModel cm " +
            "JOIN FETCH b.user u WHERE cm.sellerId = :sellerId ORDER BY b.createdAt DESC")
     List<Booking> findBySellerIdWithDetails(@Param("sellerId") Long sellerId);
+
+    // Returns the rows deleted: 0 when the booking was already cancelled, e.g. by a concurrent request
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id = :id")
+    int deleteBookingById(@Param("id") Long id);
 }
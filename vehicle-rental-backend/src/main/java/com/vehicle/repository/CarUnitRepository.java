@@ -1,15 +1,43 @@
 package com.vehicle.repository;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.vehicle.dto.CarUnitView;
 import com.vehicle.model.CarModel;
 import com.vehicle.model.CarUnit;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
-public interface CarUnitRepository extends JpaRepository<CarUnit, Long> {
+public interface CarUnitRepository extends JpaRepository<CarUnit, Long>, JpaSpecificationExecutor<CarUnit> {
+    
+    String CAR_UNIT_VIEW = "SELECT new com.vehicle.dto.CarUnitView(cu.id, cu.numberPlate, cu.available, " +
+            "cm.id, cm.name, cm.type, cm.imageUrl, cm.perDayRate, cm.sellerId) FROM CarUnit cu LEFT JOIN cu.carModel cm";
+    
+    @Query(CAR_UNIT_VIEW + " ORDER BY cu.id")
+    List<CarUnitView> findAllViews();
+    
+    @Query(CAR_UNIT_VIEW + " WHERE cu.id IN :ids")
+    List<CarUnitView> findViewsByIdIn(@Param("ids") java.util.Collection<Long> ids);
+    
+    // The pattern is a normalized plate; separators in rows stored before plates were
+    // normalized on write are stripped so those rows still match
+    @Query(CAR_UNIT_VIEW + " WHERE REPLACE(REPLACE(UPPER(cu.numberPlate), '-', ''), ' ', '') " +
+           "LIKE CONCAT(:pattern, '%') ORDER BY cu.numberPlate")
+    List<CarUnitView> findViewsByNumberPlateLike(@Param("pattern") String pattern);
+    
+    // Plate roster as [id, numberPlate, carModelId] for the in-memory search indexes
+    @Query("SELECT cu.id, cu.numberPlate, cm.id FROM CarUnit cu LEFT JOIN cu.carModel cm")
+    List<Object[]> findAllNumberPlates();
     
     List<CarUnit> findByAvailableTrue();
     
@@ -25,7 +53,72 @@ public interface CarUnitRepository extends JpaRepository<CarUnit, Long> {
     
     boolean existsByNumberPlate(String numberPlate);
 
+    // Ids of units whose plate normalizes to the given one. Strips separators like the plate
+    // search fallback, so rows stored before plates were normalized on write still collide.
+    @Query("SELECT cu.id FROM CarUnit cu WHERE REPLACE(REPLACE(UPPER(cu.numberPlate), '-', ''), ' ', '') = :plate")
+    List<Long> findIdsByNormalizedPlate(@Param("plate") String plate);
+
+    // [carModelId, sellerId] of one unit
+    @Query("SELECT cm.id, cm.sellerId FROM CarUnit cu JOIN cu.carModel cm WHERE cu.id = :id")
+    List<Object[]> findModelAndSellerById(@Param("id") Long id);
+
+    // [carUnitId, numberPlate, carModelId, model name] of every unit a seller owns
+    @Query("SELECT cu.id, cu.numberPlate, cm.id, cm.name FROM CarUnit cu JOIN cu.carModel cm " +
+           "WHERE cm.sellerId = :sellerId ORDER BY cu.id")
+    List<Object[]> findSellerUnits(@Param("sellerId") Long sellerId);
+
+    // [model type, unit count] across the fleet
+    @Query("SELECT cm.type, COUNT(cu.id) FROM CarUnit cu JOIN cu.carModel cm GROUP BY cm.type")
+    List<Object[]> countByModelType();
+
+    // [id, available] of every unit, for the admin dashboard totals
+    @Query("SELECT cu.id, cu.available FROM CarUnit cu")
+    List<Object[]> findAllAvailability();
+
     List<CarUnit> findByCarModelIdAndAvailable(Long carModelId, boolean available);
     
     java.util.Optional<CarUnit> findByNumberPlate(String numberPlate);
+
+    // Unit with its model in one select, for endpoints that return the unit entity
+    @EntityGraph("CarUnit.withModel")
+    java.util.Optional<CarUnit> findWithModelById(Long id);
+
+    // Row lock held for the booking transaction so other nodes cannot commit an overlapping booking
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT cu FROM CarUnit cu JOIN FETCH cu.carModel WHERE cu.id = :id")
+    java.util.Optional<CarUnit> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT cu FROM CarUnit cu JOIN FETCH cu.carModel WHERE cu.id IN :ids ORDER BY cu.id")
+    List<CarUnit> findAllByIdForUpdate(@Param("ids") java.util.Collection<Long> ids);
+
+    @Query("SELECT cu FROM CarUnit cu JOIN FETCH cu.carModel cm " +
+           "WHERE cm.id = :carModelId AND cu.available = true")
+    List<CarUnit> findAvailableByCarModelIdWithModel(@Param("carModelId") Long carModelId);
+
+    // Lightweight unit rows for a model, as [id, numberPlate, available]
+    @Query("SELECT cu.id, cu.numberPlate, cu.available FROM CarUnit cu WHERE cu.carModel.id = :carModelId ORDER BY cu.id")
+    List<Object[]> findUnitSummariesByCarModelId(@Param("carModelId") Long carModelId);
+
+    // Units of a model with no booking overlapping the period, in one anti-join
+    @Query("SELECT cu FROM CarUnit cu JOIN FETCH cu.carModel cm " +
+           "WHERE cm.id = :carModelId AND cu.available = true " +
+           "AND NOT EXISTS (SELECT b.id FROM Booking b WHERE b.carUnit = cu " +
+           "AND b.startDate <= :endDate AND b.endDate >= :startDate)")
+    List<CarUnit> findAvailableUnitsForPeriod(@Param("carModelId") Long carModelId,
+                                              @Param("startDate") LocalDate startDate,
+                                              @Param("endDate") LocalDate endDate);
+
+    // Free unit count and lowest free unit id per model for the period, as [modelId, count, sampleUnitId].
+    // Held units are passed in and left out, so neither the count nor the sample includes them.
+    @Query("SELECT cu.carModel.id, COUNT(cu.id), MIN(cu.id) FROM CarUnit cu " +
+           "WHERE cu.carModel.id IN :carModelIds AND cu.available = true " +
+           "AND cu.id NOT IN :heldUnitIds " +
+           "AND NOT EXISTS (SELECT b.id FROM Booking b WHERE b.carUnit = cu " +
+           "AND b.startDate <= :endDate AND b.endDate >= :startDate) " +
+           "GROUP BY cu.carModel.id")
+    List<Object[]> countAvailableUnitsByModel(@Param("carModelIds") List<Long> carModelIds,
+                                              @Param("startDate") LocalDate startDate,
+                                              @Param("endDate") LocalDate endDate,
+                                              @Param("heldUnitIds") java.util.Collection<Long> heldUnitIds);
 }
\ No newline at end of file
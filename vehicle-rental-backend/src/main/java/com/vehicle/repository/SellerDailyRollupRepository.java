@@ -0,0 +1,39 @@
+package com.vehicle.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.vehicle.model.SellerDailyRollup;
+
+@Repository
+public interface SellerDailyRollupRepository extends JpaRepository<SellerDailyRollup, Long> {
+
+    // [date, booked days, revenue] per day with any bookings in [from, to]
+    @Query("SELECT r.rollupDate, SUM(r.bookedDays), SUM(r.revenue) FROM SellerDailyRollup r " +
+           "WHERE r.sellerId = :sellerId AND r.rollupDate BETWEEN :from AND :to GROUP BY r.rollupDate")
+    List<Object[]> sumByDay(@Param("sellerId") Long sellerId,
+                            @Param("from") LocalDate from,
+                            @Param("to") LocalDate to);
+
+    // [carModelId, booked days, revenue]
+    @Query("SELECT r.carModelId, SUM(r.bookedDays), SUM(r.revenue) FROM SellerDailyRollup r " +
+           "WHERE r.sellerId = :sellerId AND r.rollupDate BETWEEN :from AND :to GROUP BY r.carModelId")
+    List<Object[]> sumByModel(@Param("sellerId") Long sellerId,
+                              @Param("from") LocalDate from,
+                              @Param("to") LocalDate to);
+
+    // [carUnitId, booked days, revenue]
+    @Query("SELECT r.carUnitId, SUM(r.bookedDays), SUM(r.revenue) FROM SellerDailyRollup r " +
+           "WHERE r.sellerId = :sellerId AND r.rollupDate BETWEEN :from AND :to GROUP BY r.carUnitId")
+    List<Object[]> sumByUnit(@Param("sellerId") Long sellerId,
+                             @Param("from") LocalDate from,
+                             @Param("to") LocalDate to);
+
+    @Query("SELECT MAX(r.rollupDate) FROM SellerDailyRollup r")
+    LocalDate findLatestRollupDate();
+}
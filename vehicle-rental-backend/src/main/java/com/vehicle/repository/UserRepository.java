@@ -1,14 +1,28 @@
 package com.vehicle.repository;
 
+import com.vehicle.dto.UserSummary;
 import com.vehicle.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
+    
+    // Profile columns only, so listings never load password hashes
+    String USER_SUMMARY = "SELECT new com.vehicle.dto.UserSummary(u.id, u.name, u.email, u.phone, " +
+            "u.drivingLicense, u.role, u.status, u.createdAt) FROM User u";
+    
+    @Query(USER_SUMMARY + " ORDER BY u.id")
+    List<UserSummary> findAllSummaries();
+    
+    @Query(USER_SUMMARY + " WHERE u.role = :role AND u.status = :status ORDER BY u.id")
+    List<UserSummary> findSummariesByRoleAndStatus(@Param("role") String role, @Param("status") String status);
     
     Optional<User> findByEmail(String email);
     
@@ -23,6 +37,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     // Check if email already exists
     boolean existsByEmail(String email);
+
+    // [role, status, count] for the admin dashboard totals
+    @Query("SELECT u.role, u.status, COUNT(u) FROM User u GROUP BY u.role, u.status")
+    List<Object[]> countByRoleAndStatus();
+
+    // [role, status] of one user, for re-checking a token's claims
+    @Query("SELECT u.role, u.status FROM User u WHERE u.id = :id")
+    List<Object[]> findRoleAndStatusById(@Param("id") Long id);
+
+    // Every registered email, for warming the uniqueness filter
+    @Query("SELECT u.email FROM User u")
+    List<String> findAllEmails();
     
     // Find users by name containing (for search functionality)
     List<User> findByNameContainingIgnoreCase(String name);
@@ -1,5 +1,15 @@
 package com.vehicle.service;
 
+import com.vehicle.dto.AdminStats;
+import com.vehicle.dto.BookingView;
+import com.vehicle.dto.CarUnitView;
+import com.vehicle.dto.FleetHeatmap;
+import com.vehicle.dto.KeysetPage;
+import com.vehicle.dto.SearchHit;
+import com.vehicle.dto.UserSummary;
+import com.vehicle.event.CarModelEvent;
+import com.vehicle.event.CarUnitEvent;
+import com.vehicle.event.UserEvent;
 import com.vehicle.model.Booking;
 import com.vehicle.model.CarModel;
 import com.vehicle.model.CarUnit;
@@ -9,13 +19,60 @@ import com.vehicle.repository.CarModelRepository;
 import com.vehicle.repository.CarUnitRepository;
 import com.vehicle.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 public class AdminService {
+
+    // Sortable fields of each admin list and how their cursor values are parsed
+    private static final Map<String, Function<String, Object>> BOOKING_SORTS = Map.of(
+        "id", Long::valueOf, "createdAt", LocalDateTime::parse, "startDate", LocalDate::parse);
+    private static final Map<String, Function<String, Object>> USER_SORTS = Map.of(
+        "id", Long::valueOf, "createdAt", LocalDateTime::parse, "name", value -> value);
+    private static final Map<String, Function<String, Object>> CAR_UNIT_SORTS = Map.of(
+        "id", Long::valueOf, "numberPlate", value -> value);
+
+    // Constructor arguments of each admin list's view, as in the repositories' JPQL projections
+    private static final KeysetPaging.Columns<User> USER_SUMMARY_COLUMNS = root -> List.of(
+        root.get("id"), root.get("name"), root.get("email"), root.get("phone"),
+        root.get("drivingLicense"), root.get("role"), root.get("status"), root.get("createdAt"));
+    private static final KeysetPaging.Columns<CarUnit> CAR_UNIT_VIEW_COLUMNS = root -> {
+        Join<CarUnit, CarModel> model = root.join("carModel", JoinType.LEFT);
+        return List.of(root.get("id"), root.get("numberPlate"), root.get("available"),
+            model.get("id"), model.get("name"), model.get("type"), model.get("imageUrl"),
+            model.get("perDayRate"), model.get("sellerId"));
+    };
+    private static final KeysetPaging.Columns<Booking> BOOKING_VIEW_COLUMNS = root -> {
+        Join<Booking, User> user = root.join("user", JoinType.LEFT);
+        Join<Booking, CarUnit> unit = root.join("carUnit", JoinType.LEFT);
+        Join<CarUnit, CarModel> model = unit.join("carModel", JoinType.LEFT);
+        return List.of(root.get("id"), root.get("startDate"), root.get("endDate"), root.get("totalCost"),
+            root.get("status"), root.get("createdAt"),
+            user.get("id"), user.get("name"), user.get("email"), user.get("phone"),
+            unit.get("id"), unit.get("numberPlate"), unit.get("available"),
+            model.get("id"), model.get("name"), model.get("type"), model.get("imageUrl"),
+            model.get("perDayRate"), model.get("sellerId"));
+    };
+
+    @PersistenceContext
+    private EntityManager entityManager;
     
     @Autowired
     private CarModelRepository carModelRepository;
@@ -29,21 +86,76 @@ public class AdminService {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private CarModelCatalog carModelCatalog;
+
+    @Autowired
+    private PlateSearchIndex plateSearchIndex;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private UniquenessFilter uniquenessFilter;
+
+    @Autowired
+    private AdminStatsService adminStatsService;
+
+    @Autowired
+    private SellerRollupService sellerRollupService;
+
+    @Autowired
+    private FleetUtilizationService fleetUtilizationService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // ===== USER MANAGEMENT =====
     
     // Get all pending sellers
-    public List<User> getPendingSellers() {
-        return userRepository.findByRoleAndStatus("seller", "pending");
+    public List<UserSummary> getPendingSellers() {
+        return userRepository.findSummariesByRoleAndStatus("seller", "pending");
     }
     
     // Get all users
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public List<UserSummary> getAllUsers() {
+        return userRepository.findAllSummaries();
+    }
+    
+    // Page of users, optionally filtered by role and status
+    public KeysetPage<UserSummary> getUsersPage(String role, String status, String sort, String direction,
+                                         String cursor, Integer limit) {
+        Specification<User> spec = (root, query, cb) -> cb.and(
+            role == null ? cb.conjunction() : cb.equal(root.get("role"), role),
+            status == null ? cb.conjunction() : cb.equal(root.get("status"), status));
+        return KeysetPaging.fetch(entityManager, User.class, UserSummary.class, USER_SUMMARY_COLUMNS, spec,
+            USER_SORTS, sort, direction, cursor, limit);
+    }
+    
+    public AdminStats getStats() {
+        return adminStatsService.getStats();
+    }
+    
+    // Rebuilds the seller rollups for [from, to] from the bookings table
+    public int backfillSellerRollups(LocalDate from, LocalDate to) {
+        return sellerRollupService.backfill(from, to);
+    }
+    
+    public FleetHeatmap getFleetHeatmap(boolean refresh) {
+        return fleetUtilizationService.getHeatmap(refresh);
+    }
+    
+    // Ranked search across users, car models and car units (types: user, model, unit; empty for all)
+    public List<SearchHit> search(String query, List<String> types, int limit) {
+        if (!searchIndex.isReady()) {
+            throw new RuntimeException("Search is not available yet, please retry shortly");
+        }
+        return searchIndex.search(query, types, Math.max(1, Math.min(limit, KeysetPaging.MAX_LIMIT)));
     }
     
     // Get all active sellers
-    public List<User> getActiveSellers() {
-        return userRepository.findByRoleAndStatus("seller", "active");
+    public List<UserSummary> getActiveSellers() {
+        return userRepository.findSummariesByRoleAndStatus("seller", "active");
     }
     
     // Approve seller account
@@ -53,7 +165,9 @@ public class AdminService {
             User user = userOpt.get();
             if ("seller".equals(user.getRole()) && "pending".equals(user.getStatus())) {
                 user.setStatus("active");
-                return userRepository.save(user);
+                User saved = userRepository.save(user);
+                eventPublisher.publishEvent(UserEvent.statusChanged(saved, "pending"));
+                return saved;
             } else {
                 throw new RuntimeException("User is not a pending seller");
             }
@@ -69,7 +183,9 @@ public class AdminService {
             User user = userOpt.get();
             if ("seller".equals(user.getRole()) && "pending".equals(user.getStatus())) {
                 user.setStatus("rejected");
-                return userRepository.save(user);
+                User saved = userRepository.save(user);
+                eventPublisher.publishEvent(UserEvent.statusChanged(saved, "pending"));
+                return saved;
             } else {
                 throw new RuntimeException("User is not a pending seller");
             }
@@ -83,12 +199,15 @@ public class AdminService {
         Optional<User> userOpt = userRepository.findById(userId);
         if (userOpt.isPresent()) {
             User user = userOpt.get();
+            String previousStatus = user.getStatus();
             if ("active".equals(user.getStatus())) {
                 user.setStatus("suspended");
             } else if ("suspended".equals(user.getStatus())) {
                 user.setStatus("active");
             }
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            eventPublisher.publishEvent(UserEvent.statusChanged(saved, previousStatus));
+            return saved;
         } else {
             throw new RuntimeException("User not found");
         }
@@ -98,12 +217,12 @@ public class AdminService {
     
     // Get all CarModels
     public List<CarModel> getAllCarModels() {
-        return carModelRepository.findAll();
+        return carModelCatalog.getAll();
     }
     
     // Get car model by ID
     public CarModel getCarModelById(Long id) {
-        return carModelRepository.findById(id)
+        return carModelCatalog.getById(id)
             .orElseThrow(() -> new RuntimeException("Car model not found with id: " + id));
     }
     
@@ -113,7 +232,10 @@ public class AdminService {
         if (model.getSellerId() == null) {
             model.setSellerId(null);
         }
-        return carModelRepository.save(model);
+        CarModel saved = carModelRepository.save(model);
+        carModelCatalog.invalidate();
+        eventPublisher.publishEvent(CarModelEvent.saved(saved));
+        return saved;
     }
     
     // Update car model
@@ -121,7 +243,10 @@ public class AdminService {
         if (!carModelRepository.existsById(model.getId())) {
             throw new RuntimeException("Car model not found with id: " + model.getId());
         }
-        return carModelRepository.save(model);
+        CarModel saved = carModelRepository.save(model);
+        carModelCatalog.invalidate();
+        eventPublisher.publishEvent(CarModelEvent.saved(saved));
+        return saved;
     }
     
     // Delete car model
@@ -135,18 +260,56 @@ public class AdminService {
             throw new RuntimeException("Cannot delete car model. There are " + unitsUsingModel.size() + " car units using this model.");
         }
         carModelRepository.deleteById(id);
+        carModelCatalog.invalidate();
+        eventPublisher.publishEvent(CarModelEvent.deleted(id));
     }
 
     // ===== CAR UNIT MANAGEMENT =====
     
     // Get all CarUnits
-    public List<CarUnit> getAllCarUnits() {
-        return carUnitRepository.findAll();
+    public List<CarUnitView> getAllCarUnits() {
+        return carUnitRepository.findAllViews();
+    }
+    
+    // Page of car units, optionally filtered by model and availability
+    public KeysetPage<CarUnitView> getCarUnitsPage(Long carModelId, Boolean available, String sort, String direction,
+                                               String cursor, Integer limit) {
+        Specification<CarUnit> spec = (root, query, cb) -> cb.and(
+            carModelId == null ? cb.conjunction() : cb.equal(root.get("carModel").get("id"), carModelId),
+            available == null ? cb.conjunction() : cb.equal(root.get("available"), available));
+        return KeysetPaging.fetch(entityManager, CarUnit.class, CarUnitView.class, CAR_UNIT_VIEW_COLUMNS, spec,
+            CAR_UNIT_SORTS, sort, direction, cursor, limit);
+    }
+    
+    // Plate search for the check-in desk: prefix (default), contains or fuzzy
+    public List<CarUnitView> searchCarUnitsByPlate(String query, String mode, int limit) {
+        int size = Math.max(1, Math.min(limit, KeysetPaging.MAX_LIMIT));
+        String match = mode == null ? "prefix" : mode;
+        if (!plateSearchIndex.isReady()) {
+            String normalized = PlateSearchIndex.normalize(query);
+            List<CarUnitView> units = carUnitRepository.findViewsByNumberPlateLike(
+                "prefix".equals(match) ? normalized : "%" + normalized);
+            return units.size() > size ? units.subList(0, size) : units;
+        }
+        
+        List<Long> ids = switch (match) {
+            case "prefix" -> plateSearchIndex.prefix(query, size);
+            case "contains" -> plateSearchIndex.contains(query, size);
+            case "fuzzy" -> plateSearchIndex.fuzzy(query, size);
+            default -> throw new RuntimeException("Unknown search mode: " + match);
+        };
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Keep the index's ranking; the database returns rows in its own order
+        Map<Long, CarUnitView> byId = new HashMap<>();
+        carUnitRepository.findViewsByIdIn(ids).forEach(unit -> byId.put(unit.getId(), unit));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
     }
     
     // Get car unit by ID
     public CarUnit getCarUnitById(Long id) {
-        return carUnitRepository.findById(id)
+        return carUnitRepository.findWithModelById(id)
             .orElseThrow(() -> new RuntimeException("Car unit not found with id: " + id));
     }
     
@@ -165,8 +328,15 @@ public class AdminService {
         } else {
             throw new RuntimeException("Car model is required");
         }
+
+        normalizePlate(unit);
+        if (unit.getId() == null && uniquenessFilter.plateExists(unit.getNumberPlate())) {
+            throw new RuntimeException("Vehicle with this number plate already exists");
+        }
         
-        return carUnitRepository.save(unit);
+        CarUnit saved = saveUnit(unit);
+        eventPublisher.publishEvent(CarUnitEvent.saved(saved));
+        return saved;
     }
     
     // Update car unit
@@ -182,29 +352,71 @@ public class AdminService {
             unit.setCarModel(carModel);
         }
         
-        return carUnitRepository.save(unit);
+        normalizePlate(unit);
+        // The unique index only compares stored values, which may still carry separators
+        if (carUnitRepository.findIdsByNormalizedPlate(unit.getNumberPlate()).stream()
+                .anyMatch(id -> !id.equals(unit.getId()))) {
+            throw new RuntimeException("Vehicle with this number plate already exists");
+        }
+        CarUnit saved = saveUnit(unit);
+        eventPublisher.publishEvent(CarUnitEvent.saved(saved));
+        return saved;
+    }
+
+    private CarUnit saveUnit(CarUnit unit) {
+        try {
+            return carUnitRepository.save(unit);
+        } catch (DataIntegrityViolationException e) {
+            // Plate taken meanwhile, possibly on another node the filter here has not heard of
+            if (!carUnitRepository.findIdsByNormalizedPlate(unit.getNumberPlate()).isEmpty()) {
+                throw new RuntimeException("Vehicle with this number plate already exists");
+            }
+            throw e;
+        }
+    }
+
+    // Plates are stored as upper-case letters and digits, the form every plate lookup uses
+    private static void normalizePlate(CarUnit unit) {
+        String plate = PlateSearchIndex.normalize(unit.getNumberPlate());
+        if (plate.isEmpty()) {
+            throw new RuntimeException("Number plate is required");
+        }
+        unit.setNumberPlate(plate);
     }
     
     // Toggle availability
     public CarUnit updateAvailability(Long unitId, boolean available) {
-        CarUnit unit = carUnitRepository.findById(unitId)
+        CarUnit unit = carUnitRepository.findWithModelById(unitId)
             .orElseThrow(() -> new RuntimeException("Car unit not found"));
         unit.setAvailable(available);
-        return carUnitRepository.save(unit);
+        CarUnit saved = carUnitRepository.save(unit);
+        eventPublisher.publishEvent(CarUnitEvent.saved(saved));
+        return saved;
     }
     
     // Delete a CarUnit
     public void deleteCarUnit(Long unitId) {
-        if (!carUnitRepository.existsById(unitId)) {
-            throw new RuntimeException("Car unit not found with id: " + unitId);
-        }
-        carUnitRepository.deleteById(unitId);
+        CarUnit unit = carUnitRepository.findById(unitId)
+            .orElseThrow(() -> new RuntimeException("Car unit not found with id: " + unitId));
+        carUnitRepository.delete(unit);
+        eventPublisher.publishEvent(CarUnitEvent.deleted(unit));
     }
     
     // ===== BOOKING MANAGEMENT =====
     
     // Get all bookings
-    public List<Booking> getAllBookings() {
-        return bookingRepository.findAll();
+    public List<BookingView> getAllBookings() {
+        return bookingRepository.findAllViews();
+    }
+
+    // Page of bookings, optionally filtered by status and a start date range
+    public KeysetPage<BookingView> getBookingsPage(String status, LocalDate from, LocalDate to, String sort,
+                                               String direction, String cursor, Integer limit) {
+        Specification<Booking> spec = (root, query, cb) -> cb.and(
+            status == null ? cb.conjunction() : cb.equal(root.get("status"), status),
+            from == null ? cb.conjunction() : cb.greaterThanOrEqualTo(root.get("startDate"), from),
+            to == null ? cb.conjunction() : cb.lessThanOrEqualTo(root.get("startDate"), to));
+        return KeysetPaging.fetch(entityManager, Booking.class, BookingView.class, BOOKING_VIEW_COLUMNS, spec,
+            BOOKING_SORTS, sort, direction, cursor, limit);
     }
 }
\ No newline at end of file
@@ -0,0 +1,166 @@
+package com.vehicle.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.vehicle.dto.AdminStats;
+import com.vehicle.event.BookingEvent;
+import com.vehicle.event.CarUnitEvent;
+import com.vehicle.event.UserEvent;
+import com.vehicle.model.Booking;
+import com.vehicle.model.CarUnit;
+import com.vehicle.model.User;
+import com.vehicle.repository.BookingRepository;
+import com.vehicle.repository.CarUnitRepository;
+import com.vehicle.repository.UserRepository;
+
+// Dashboard totals, counted with grouped queries and then moved by the write events. Serving
+// them is a read of a few LongAdders. Events only reach the node that made the write, and
+// writes made while a count runs can be counted twice or not at all, so each node recounts
+// on a schedule (vroom.admin.stats.reload-interval-ms): the totals are per node and may lag
+// other nodes' writes by up to that interval.
+@Service
+public class AdminStatsService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CarUnitRepository carUnitRepository;
+
+    // Replaced as a whole by each recount, so readers never see a half-filled set
+    private volatile Counts counts = new Counts();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Counts fresh = new Counts();
+        for (Object[] row : userRepository.countByRoleAndStatus()) {
+            counter(fresh.users, row[0] + "/" + row[1]).add((Long) row[2]);
+        }
+        for (Object[] row : bookingRepository.countAndSumByStatus()) {
+            counter(fresh.bookings, String.valueOf(row[0])).add((Long) row[1]);
+            if (!"CANCELLED".equals(row[0]) && row[2] != null) {
+                fresh.revenue.add(((Number) row[2]).doubleValue());
+            }
+        }
+        for (Object[] row : carUnitRepository.findAllAvailability()) {
+            boolean available = Boolean.TRUE.equals(row[1]);
+            fresh.units.put((Long) row[0], available);
+            if (available) {
+                fresh.availableUnits.increment();
+            }
+        }
+        counts = fresh;
+    }
+
+    @Scheduled(initialDelayString = "${vroom.admin.stats.reload-interval-ms:300000}",
+               fixedDelayString = "${vroom.admin.stats.reload-interval-ms:300000}")
+    public void reload() {
+        load();
+    }
+
+    public AdminStats getStats() {
+        Counts counts = this.counts;
+        AdminStats stats = new AdminStats();
+        Map<String, Long> byRole = new TreeMap<>();
+        Map<String, Long> byStatus = new TreeMap<>();
+        long totalUsers = 0;
+        for (Map.Entry<String, LongAdder> entry : counts.users.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count == 0) {
+                continue;
+            }
+            String[] key = entry.getKey().split("/", 2);
+            byRole.merge(key[0], count, Long::sum);
+            byStatus.merge(key[1], count, Long::sum);
+            totalUsers += count;
+        }
+        stats.setTotalUsers(totalUsers);
+        stats.setUsersByRole(byRole);
+        stats.setUsersByStatus(byStatus);
+        LongAdder pendingSellers = counts.users.get("seller/pending");
+        stats.setPendingSellers(pendingSellers == null ? 0 : pendingSellers.sum());
+
+        Map<String, Long> bookingsByStatus = new TreeMap<>();
+        long totalBookings = 0;
+        for (Map.Entry<String, LongAdder> entry : counts.bookings.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count != 0) {
+                bookingsByStatus.put(entry.getKey(), count);
+                totalBookings += count;
+            }
+        }
+        stats.setTotalBookings(totalBookings);
+        stats.setBookingsByStatus(bookingsByStatus);
+        stats.setRevenue(counts.revenue.sum());
+
+        stats.setTotalCarUnits(counts.units.size());
+        stats.setAvailableCarUnits(counts.availableUnits.sum());
+        return stats;
+    }
+
+    @EventListener
+    public void onUserEvent(UserEvent event) {
+        User user = event.getUser();
+        Counts counts = this.counts;
+        if (event.getType() == UserEvent.Type.STATUS_CHANGED) {
+            counter(counts.users, user.getRole() + "/" + event.getPreviousStatus()).decrement();
+        }
+        counter(counts.users, user.getRole() + "/" + user.getStatus()).increment();
+    }
+
+    // After commit, like the other booking views, so rolled-back bookings are never counted
+    @TransactionalEventListener
+    public void onBookingEvent(BookingEvent event) {
+        Booking booking = event.getBooking();
+        boolean created = event.getType() == BookingEvent.Type.CREATED;
+        Counts counts = this.counts;
+        counter(counts.bookings, String.valueOf(booking.getStatus())).add(created ? 1 : -1);
+        if (!"CANCELLED".equals(booking.getStatus())) {
+            counts.revenue.add(created ? booking.getTotalCost() : -booking.getTotalCost());
+        }
+    }
+
+    @EventListener
+    public void onCarUnitEvent(CarUnitEvent event) {
+        CarUnit unit = event.getCarUnit();
+        if (unit.getId() == null) {
+            return;
+        }
+        Counts counts = this.counts;
+        Boolean previous = event.getType() == CarUnitEvent.Type.DELETED
+            ? counts.units.remove(unit.getId())
+            : counts.units.put(unit.getId(), unit.isAvailable());
+        long delta = (event.getType() == CarUnitEvent.Type.SAVED && unit.isAvailable() ? 1 : 0)
+            - (Boolean.TRUE.equals(previous) ? 1 : 0);
+        counts.availableUnits.add(delta);
+    }
+
+    private static LongAdder counter(Map<String, LongAdder> counters, String key) {
+        return counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    private static final class Counts {
+
+        // Keyed by "role/status"
+        final Map<String, LongAdder> users = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> bookings = new ConcurrentHashMap<>();
+        final DoubleAdder revenue = new DoubleAdder();
+        // Last known availability per unit, so a save can tell what changed
+        final Map<Long, Boolean> units = new ConcurrentHashMap<>();
+        final LongAdder availableUnits = new LongAdder();
+    }
+}
@@ -0,0 +1,46 @@
+package com.vehicle.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle.dto.BookingView;
+
+// ETags built only from data every node reads from the same database, so a tag issued by
+// one node is honoured by any other and survives restarts. The catalog version is derived
+// from the loaded models themselves; a user's bookings are tagged by a digest of the list.
+@Service
+public class AggregateVersions {
+
+    @Autowired
+    private CarModelCatalog carModelCatalog;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public String catalogETag() {
+        return tag("c" + carModelCatalog.getVersion());
+    }
+
+    public String sellerVehiclesETag(Long sellerId) {
+        return tag("s" + sellerId + "-c" + carModelCatalog.getVersion());
+    }
+
+    // Booking lists embed the user, units and models, and units have no version of their
+    // own, so the tag covers the whole list as it is about to be sent
+    public String userBookingsETag(Long userId, List<BookingView> bookings) {
+        try {
+            return tag("u" + userId + "-" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(bookings)));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not tag bookings: " + e.getMessage());
+        }
+    }
+
+    private String tag(String version) {
+        return "W/\"" + version + "\"";
+    }
+}
@@ -0,0 +1,173 @@
+package com.vehicle.service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.vehicle.dto.ModelCalendar;
+import com.vehicle.dto.UnitCalendar;
+import com.vehicle.event.BookingEvent;
+import com.vehicle.model.Booking;
+import com.vehicle.repository.BookingRepository;
+import com.vehicle.repository.CarUnitRepository;
+
+// One bit per unit per day over a rolling window, kept in sync with booking writes.
+// The window starts a month in the past and is rebuilt when the day rolls over.
+@Service
+public class AvailabilityCalendar {
+
+    private static final int PAST_DAYS = 31;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CarUnitRepository carUnitRepository;
+
+    @Value("${vroom.calendar.horizon-days:365}")
+    private int horizonDays;
+
+    private volatile Window window;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild(LocalDate.now().toEpochDay() - PAST_DAYS);
+    }
+
+    public ModelCalendar getModelCalendar(Long carModelId, LocalDate startDate, int days) {
+        Window current = currentWindow();
+        long first = startDate.toEpochDay();
+        if (days <= 0 || first < current.baseDay || first + days > current.baseDay + current.length) {
+            throw new RuntimeException("Calendar covers " + LocalDate.ofEpochDay(current.baseDay)
+                + " to " + LocalDate.ofEpochDay(current.baseDay + current.length - 1));
+        }
+
+        List<Object[]> units = carUnitRepository.findUnitSummariesByCarModelId(carModelId);
+        List<UnitCalendar> unitCalendars = units.stream()
+            .map(row -> new UnitCalendar((Long) row[0], (String) row[1], (Boolean) row[2],
+                current.bits((Long) row[0], (int) (first - current.baseDay), days)))
+            .toList();
+        return new ModelCalendar(carModelId, startDate, days, unitCalendars);
+    }
+
+    @TransactionalEventListener
+    public void onBookingEvent(BookingEvent event) {
+        Booking booking = event.getBooking();
+        if (booking.getCarUnit() == null) {
+            return;
+        }
+        // Re-apply if the window was rebuilt while this event was being applied
+        Window current;
+        do {
+            current = currentWindow();
+            apply(current, event);
+        } while (current != window);
+    }
+
+    private void apply(Window current, BookingEvent event) {
+        Booking booking = event.getBooking();
+        Long carUnitId = booking.getCarUnit().getId();
+        if (event.getType() == BookingEvent.Type.CREATED) {
+            current.mark(carUnitId, booking.getStartDate(), booking.getEndDate(), true);
+            return;
+        }
+        current.mark(carUnitId, booking.getStartDate(), booking.getEndDate(), false);
+        // Another booking may still cover some of the freed days
+        for (Booking remaining : bookingRepository.findConflictingBookings(
+                carUnitId, booking.getStartDate(), booking.getEndDate())) {
+            current.mark(carUnitId, remaining.getStartDate(), remaining.getEndDate(), true);
+        }
+    }
+
+    private Window currentWindow() {
+        long baseDay = LocalDate.now().toEpochDay() - PAST_DAYS;
+        Window current = window;
+        if (current == null || current.baseDay != baseDay) {
+            // A lock rather than synchronized: the rebuild queries the database and
+            // must not pin the carrier thread when requests run on virtual threads
+            rebuildLock.lock();
+            try {
+                current = window;
+                if (current == null || current.baseDay != baseDay) {
+                    current = rebuild(baseDay);
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private Window rebuild(long baseDay) {
+        Window fresh = new Window(baseDay, PAST_DAYS + horizonDays);
+        LocalDate from = LocalDate.ofEpochDay(baseDay);
+        LocalDate to = LocalDate.ofEpochDay(baseDay + fresh.length - 1);
+        for (Object[] row : bookingRepository.findBookedRangesBetween(from, to)) {
+            fresh.mark((Long) row[0], (LocalDate) row[1], (LocalDate) row[2], true);
+        }
+        window = fresh;
+        return fresh;
+    }
+
+    static class Window {
+
+        final long baseDay;
+        final int length;
+        private final Map<Long, long[]> units = new ConcurrentHashMap<>();
+
+        Window(long baseDay, int length) {
+            this.baseDay = baseDay;
+            this.length = length;
+        }
+
+        void mark(Long carUnitId, LocalDate startDate, LocalDate endDate, boolean booked) {
+            if (carUnitId == null || startDate == null || endDate == null) {
+                return;
+            }
+            int from = (int) Math.max(0, startDate.toEpochDay() - baseDay);
+            int to = (int) Math.min(length - 1, endDate.toEpochDay() - baseDay);
+            if (from > to) {
+                return;
+            }
+            long[] words = units.computeIfAbsent(carUnitId, id -> new long[(length + 63) >>> 6]);
+            synchronized (words) {
+                for (int day = from; day <= to; day++) {
+                    if (booked) {
+                        words[day >>> 6] |= 1L << day;
+                    } else {
+                        words[day >>> 6] &= ~(1L << day);
+                    }
+                }
+            }
+        }
+
+        // Days from offset as a string of '0' (free) and '1' (booked)
+        String bits(Long carUnitId, int offset, int days) {
+            long[] words = units.get(carUnitId);
+            char[] out = new char[days];
+            if (words == null) {
+                Arrays.fill(out, '0');
+                return new String(out);
+            }
+            synchronized (words) {
+                for (int i = 0; i < days; i++) {
+                    int day = offset + i;
+                    out[i] = (words[day >>> 6] & (1L << day)) != 0 ? '1' : '0';
+                }
+            }
+            return new String(out);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.vehicle.service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.vehicle.event.BookingEvent;
+import com.vehicle.model.Booking;
+import com.vehicle.repository.BookingRepository;
+
+// In-memory index of booked date ranges per car unit, so availability
+// searches do not need a conflict query per unit. Holds bookings that end today or later,
+// kept current by this node's booking events and rebuilt every
+// vroom.availability.index.reload-interval-ms to pick up bookings made on other nodes.
+@Service
+public class AvailabilityIndex {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Value("${vroom.availability.index.enabled:true}")
+    private boolean enabled;
+
+    private volatile Map<Long, UnitSchedule> schedules = new ConcurrentHashMap<>();
+
+    // First day the index holds every booking for; null until loaded
+    private volatile LocalDate from;
+
+    // Set while a rebuild runs, so bookings made or cancelled meanwhile reach the new map too
+    private volatile Rebuild rebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        Rebuild next = new Rebuild();
+        rebuild = next;
+        try {
+            for (Object[] row : bookingRepository.findBookedRangesEndingFrom(today)) {
+                if (!next.cancelled.contains((Long) row[0])) {
+                    add(next.schedules, (Long) row[0], (Long) row[1], (LocalDate) row[2], (LocalDate) row[3]);
+                }
+            }
+            schedules = next.schedules;
+            from = today;
+        } finally {
+            rebuild = null;
+        }
+    }
+
+    @Scheduled(initialDelayString = "${vroom.availability.index.reload-interval-ms:300000}",
+               fixedDelayString = "${vroom.availability.index.reload-interval-ms:300000}")
+    public void reload() {
+        load();
+    }
+
+    // Searches fall back to the database until the index has been loaded, and for
+    // ranges starting before the first day it holds
+    public boolean isReady(LocalDate startDate) {
+        LocalDate first = from;
+        return first != null && !startDate.isBefore(first);
+    }
+
+    public boolean isAvailable(Long carUnitId, LocalDate startDate, LocalDate endDate) {
+        UnitSchedule schedule = schedules.get(carUnitId);
+        return schedule == null || !schedule.overlaps(startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    @TransactionalEventListener
+    public void onBookingEvent(BookingEvent event) {
+        Booking booking = event.getBooking();
+        if (booking.getCarUnit() == null) {
+            return;
+        }
+        Rebuild pending = rebuild;
+        if (event.getType() == BookingEvent.Type.CREATED) {
+            add(schedules, booking.getId(), booking.getCarUnit().getId(), booking.getStartDate(), booking.getEndDate());
+            if (pending != null) {
+                add(pending.schedules, booking.getId(), booking.getCarUnit().getId(),
+                    booking.getStartDate(), booking.getEndDate());
+            }
+        } else {
+            remove(schedules, booking.getId(), booking.getCarUnit().getId());
+            if (pending != null) {
+                pending.cancelled.add(booking.getId());
+                remove(pending.schedules, booking.getId(), booking.getCarUnit().getId());
+            }
+        }
+    }
+
+    private static void add(Map<Long, UnitSchedule> schedules, Long bookingId, Long carUnitId,
+                            LocalDate startDate, LocalDate endDate) {
+        if (carUnitId == null || startDate == null || endDate == null) {
+            return;
+        }
+        schedules.computeIfAbsent(carUnitId, id -> new UnitSchedule())
+            .add(bookingId, startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    private static void remove(Map<Long, UnitSchedule> schedules, Long bookingId, Long carUnitId) {
+        UnitSchedule schedule = schedules.get(carUnitId);
+        if (schedule != null) {
+            schedule.remove(bookingId);
+        }
+    }
+
+    private static final class Rebuild {
+        final Map<Long, UnitSchedule> schedules = new ConcurrentHashMap<>();
+        final Set<Long> cancelled = ConcurrentHashMap.newKeySet();
+    }
+
+    // Booked ranges of one unit, sorted by start day. maxEnd[i] holds the latest
+    // end day among the first i + 1 ranges, so an overlap test is one binary search.
+    static class UnitSchedule {
+
+        private long[] bookingIds = new long[4];
+        private long[] starts = new long[4];
+        private long[] ends = new long[4];
+        private long[] maxEnd = new long[4];
+        private int size = 0;
+
+        synchronized boolean overlaps(long startDay, long endDay) {
+            // Last range starting on or before endDay; ranges are inclusive on both ends
+            int idx = upperBound(endDay) - 1;
+            return idx >= 0 && maxEnd[idx] >= startDay;
+        }
+
+        synchronized void add(Long bookingId, long startDay, long endDay) {
+            // A booking can arrive from both the rebuild query and its event
+            if (bookingId != null && indexOf(bookingId) >= 0) {
+                return;
+            }
+            if (size == starts.length) {
+                int capacity = size * 2;
+                bookingIds = Arrays.copyOf(bookingIds, capacity);
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                maxEnd = Arrays.copyOf(maxEnd, capacity);
+            }
+            int pos = upperBound(startDay);
+            System.arraycopy(bookingIds, pos, bookingIds, pos + 1, size - pos);
+            System.arraycopy(starts, pos, starts, pos + 1, size - pos);
+            System.arraycopy(ends, pos, ends, pos + 1, size - pos);
+            bookingIds[pos] = bookingId == null ? -1 : bookingId;
+            starts[pos] = startDay;
+            ends[pos] = endDay;
+            size++;
+            recomputeMaxEnd(pos);
+        }
+
+        synchronized void remove(Long bookingId) {
+            if (bookingId == null) {
+                return;
+            }
+            int i = indexOf(bookingId);
+            if (i >= 0) {
+                System.arraycopy(bookingIds, i + 1, bookingIds, i, size - i - 1);
+                System.arraycopy(starts, i + 1, starts, i, size - i - 1);
+                System.arraycopy(ends, i + 1, ends, i, size - i - 1);
+                size--;
+                recomputeMaxEnd(i);
+            }
+        }
+
+        private int indexOf(long bookingId) {
+            for (int i = 0; i < size; i++) {
+                if (bookingIds[i] == bookingId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int upperBound(long day) {
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] <= day) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private void recomputeMaxEnd(int from) {
+            long running = from == 0 ? Long.MIN_VALUE : maxEnd[from - 1];
+            for (int i = from; i < size; i++) {
+                running = Math.max(running, ends[i]);
+                maxEnd[i] = running;
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.vehicle.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.vehicle.dto.BookingView;
+import com.vehicle.repository.BookingRepository;
+
+// Writes bookings row by row from a database cursor, so an export holds one
+// fetch batch in memory no matter how many bookings there are.
+@Service
+public class BookingExportService {
+
+    private static final String CSV_HEADER = "id,start_date,end_date,total_cost,status,created_at,user_id,user_name,"
+        + "user_email,car_unit_id,number_plate,car_model_id,car_model_name,car_model_type,seller_id";
+
+    private static final int FLUSH_EVERY = 1000;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public static boolean isSupportedFormat(String format) {
+        return "ndjson".equals(format) || "csv".equals(format);
+    }
+
+    public void export(String format, String status, LocalDate from, LocalDate to, OutputStream out) {
+        if (!isSupportedFormat(format)) {
+            throw new RuntimeException("Unsupported export format: " + format);
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(tx -> {
+            try (Stream<BookingView> rows = bookingRepository.streamViews(status, from, to)) {
+                if ("csv".equals(format)) {
+                    writeCsv(rows.iterator(), out);
+                } else {
+                    writeNdjson(rows.iterator(), out);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeNdjson(Iterator<BookingView> rows, OutputStream out) throws IOException {
+        try (SequenceWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            int count = 0;
+            while (rows.hasNext()) {
+                writer.write(rows.next());
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+            if (count > 0) {
+                out.write('\n');
+            }
+        }
+        out.flush();
+    }
+
+    private void writeCsv(Iterator<BookingView> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        int count = 0;
+        while (rows.hasNext()) {
+            BookingView booking = rows.next();
+            boolean hasUser = booking.getUser() != null;
+            boolean hasUnit = booking.getCarUnit() != null;
+            boolean hasModel = hasUnit && booking.getCarUnit().getCarModel() != null;
+            writer.write(String.join(",",
+                csv(booking.getId()),
+                csv(booking.getStartDate()),
+                csv(booking.getEndDate()),
+                csv(booking.getTotalCost()),
+                csv(booking.getStatus()),
+                csv(booking.getCreatedAt()),
+                csv(hasUser ? booking.getUser().getId() : null),
+                csv(hasUser ? booking.getUser().getName() : null),
+                csv(hasUser ? booking.getUser().getEmail() : null),
+                csv(hasUnit ? booking.getCarUnit().getId() : null),
+                csv(hasUnit ? booking.getCarUnit().getNumberPlate() : null),
+                csv(hasModel ? booking.getCarUnit().getCarModel().getId() : null),
+                csv(hasModel ? booking.getCarUnit().getCarModel().getName() : null),
+                csv(hasModel ? booking.getCarUnit().getCarModel().getType() : null),
+                csv(hasModel ? booking.getCarUnit().getCarModel().getSellerId() : null)));
+            writer.write('\n');
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    // RFC 4180 quoting; values starting with a formula character are prefixed so
+    // spreadsheets do not evaluate them
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0 && !(value instanceof Number)) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,160 @@
+package com.vehicle.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.vehicle.dto.BookingHold;
+import com.vehicle.model.CarUnit;
+import com.vehicle.repository.BookingRepository;
+import com.vehicle.repository.CarUnitRepository;
+
+// Short-lived in-memory reservations of a unit and date range, taken between picking a
+// unit and confirming the booking. Holds expire on their own after the configured TTL.
+@Service
+public class BookingHoldService {
+
+    @Autowired
+    private CarUnitRepository carUnitRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private UnitLocks unitLocks;
+
+    @Value("${vroom.booking.hold.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${vroom.booking.hold.max-per-user:5}")
+    private int maxHoldsPerUser;
+
+    private final Map<String, BookingHold> holds = new ConcurrentHashMap<>();
+
+    private final Map<Long, List<BookingHold>> holdsByUnit = new ConcurrentHashMap<>();
+
+    public BookingHold placeHold(Long userId, Long carUnitId, LocalDate startDate, LocalDate endDate) {
+        if (carUnitId == null || startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new RuntimeException("A hold needs a car unit and a valid date range");
+        }
+        ReentrantLock lock = unitLocks.forUnit(carUnitId);
+        lock.lock();
+        try {
+            long userHolds = holds.values().stream()
+                .filter(hold -> hold.getUserId().equals(userId) && !hold.isExpired())
+                .count();
+            if (userHolds >= maxHoldsPerUser) {
+                throw new RuntimeException("Too many vehicles on hold, please complete or release a booking first");
+            }
+            if (isHeld(carUnitId, startDate, endDate, userId)) {
+                throw new RuntimeException("Car unit is currently on hold for another customer");
+            }
+            CarUnit carUnit = carUnitRepository.findById(carUnitId)
+                .orElseThrow(() -> new RuntimeException("Car unit not found"));
+            boolean free = availabilityIndex.isReady(startDate)
+                ? availabilityIndex.isAvailable(carUnitId, startDate, endDate)
+                : bookingRepository.findConflictingBookings(carUnitId, startDate, endDate).isEmpty();
+            if (!carUnit.isAvailable() || !free) {
+                throw new RuntimeException("Car unit is not available for the selected dates");
+            }
+
+            BookingHold hold = new BookingHold(UUID.randomUUID().toString(), userId, carUnitId,
+                carUnit.getCarModel().getId(), startDate, endDate, LocalDateTime.now().plusSeconds(ttlSeconds));
+            holds.put(hold.getId(), hold);
+            holdsByUnit.computeIfAbsent(carUnitId, id -> new CopyOnWriteArrayList<>()).add(hold);
+            return hold;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // True if someone other than excludedUserId holds an overlapping range on the unit
+    public boolean isHeld(Long carUnitId, LocalDate startDate, LocalDate endDate, Long excludedUserId) {
+        List<BookingHold> unitHolds = holdsByUnit.get(carUnitId);
+        if (unitHolds == null) {
+            return false;
+        }
+        for (BookingHold hold : unitHolds) {
+            if (!hold.isExpired() && hold.overlaps(startDate, endDate)
+                    && (excludedUserId == null || !excludedUserId.equals(hold.getUserId()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Active holds overlapping the range, for adjusting search results
+    public List<BookingHold> getActiveHolds(LocalDate startDate, LocalDate endDate) {
+        return holds.values().stream()
+            .filter(hold -> !hold.isExpired() && hold.overlaps(startDate, endDate))
+            .toList();
+    }
+
+    // The hold if it is still active and covers exactly this booking; null if it has lapsed.
+    // Callers must hold the unit's stripe lock.
+    public BookingHold findValidHold(String holdId, Long userId, Long carUnitId, LocalDate startDate, LocalDate endDate) {
+        BookingHold hold = holds.get(holdId);
+        if (hold == null || hold.isExpired()) {
+            return null;
+        }
+        if (!hold.getUserId().equals(userId) || !hold.getCarUnitId().equals(carUnitId)
+                || !hold.getStartDate().equals(startDate) || !hold.getEndDate().equals(endDate)) {
+            throw new RuntimeException("Hold does not match this booking");
+        }
+        return hold;
+    }
+
+    public void releaseHold(String holdId, Long userId) {
+        BookingHold hold = holds.get(holdId);
+        if (hold == null) {
+            return;
+        }
+        if (userId != null && !hold.getUserId().equals(userId)) {
+            throw new RuntimeException("Unauthorized to release this hold");
+        }
+        remove(hold);
+    }
+
+    // Drops the user's holds that overlap a range they have just booked on the unit.
+    // Callers must hold the unit's stripe lock.
+    public void releaseOverlappingHolds(Long userId, Long carUnitId, LocalDate startDate, LocalDate endDate) {
+        List<BookingHold> unitHolds = holdsByUnit.get(carUnitId);
+        if (unitHolds == null) {
+            return;
+        }
+        for (BookingHold hold : unitHolds) {
+            if (hold.getUserId().equals(userId) && hold.overlaps(startDate, endDate)) {
+                remove(hold);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${vroom.booking.hold.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        holds.values().stream()
+            .filter(BookingHold::isExpired)
+            .toList()
+            .forEach(this::remove);
+    }
+
+    private void remove(BookingHold hold) {
+        holds.remove(hold.getId());
+        List<BookingHold> unitHolds = holdsByUnit.get(hold.getCarUnitId());
+        if (unitHolds != null) {
+            unitHolds.remove(hold);
+        }
+    }
+}
@@ -1,13 +1,33 @@
 package com.vehicle.service;
 
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.vehicle.dto.BookingRequest;
+import com.vehicle.dto.BookingView;
+import com.vehicle.event.BookingEvent;
 import com.vehicle.model.Booking;
 import com.vehicle.model.CarUnit;
 import com.vehicle.model.User;
@@ -22,28 +42,198 @@ public class BookingService {
     
     @Autowired
     private CarUnitRepository carUnitRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private UnitLocks unitLocks;
+
+    @Autowired
+    private BookingHoldService bookingHoldService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${vroom.booking.batch.max-size:50}")
+    private int maxBatchSize;
     
-    public List<Booking> getUserBookings(Long userId) {
-        return bookingRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    public List<BookingView> getUserBookings(Long userId) {
+        return bookingRepository.findViewsByUserId(userId);
     }
     
+    // Check-then-insert runs under the unit's stripe lock and a row lock on the unit,
+    // so only bookings for the same unit wait on each other. In-memory views are updated
+    // by after-commit listeners, which still run before the stripe is released.
     public Booking createBooking(User user, BookingRequest request) {
-        CarUnit carUnit = carUnitRepository.findById(request.getCarUnitId())
+        if (request.getCarUnitId() == null) {
+            throw new RuntimeException("Car unit not found");
+        }
+        ReentrantLock lock = unitLocks.forUnit(request.getCarUnitId());
+        lock.lock();
+        try {
+            Booking booking = transactionTemplate.execute(status -> insertBooking(user, request));
+            // The user's holds on these days are spent, whether or not the booking named one
+            bookingHoldService.releaseOverlappingHolds(user.getId(), request.getCarUnitId(),
+                request.getStartDate(), request.getEndDate());
+            return booking;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Booking insertBooking(User user, BookingRequest request) {
+        CarUnit carUnit = carUnitRepository.findByIdForUpdate(request.getCarUnitId())
             .orElseThrow(() -> new RuntimeException("Car unit not found"));
 
+        // A live hold of the user's own means no one else can hold the range; the conflict
+        // query still runs, as holds are per node and do not cover bookings made elsewhere
+        boolean held = request.getHoldId() != null && bookingHoldService.findValidHold(request.getHoldId(),
+            user.getId(), request.getCarUnitId(), request.getStartDate(), request.getEndDate()) != null;
+        if (!held && bookingHoldService.isHeld(request.getCarUnitId(), request.getStartDate(), request.getEndDate(), user.getId())) {
+            throw new RuntimeException("Car unit is currently on hold for another customer");
+        }
         if (!isUnitAvailable(request.getCarUnitId(), request.getStartDate(), request.getEndDate())) {
             throw new RuntimeException("Car unit is not available for the selected dates");
         }
 
+        double totalCost = calculateTotalCost(carUnit, request.getStartDate(), request.getEndDate());
+        Booking booking = bookingRepository.save(
+            new Booking(user, carUnit, request.getStartDate(), request.getEndDate(), totalCost));
+        eventPublisher.publishEvent(BookingEvent.created(booking));
+        return booking;
+    }
+
+    // Books several units at once: every unit is locked, all conflicts are checked with one
+    // query and the rows go in as one JDBC batch. Either every booking is created or none is.
+    public List<Booking> createBookings(User user, List<BookingRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new RuntimeException("No bookings requested");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new RuntimeException("At most " + maxBatchSize + " bookings can be made at once");
+        }
+        Set<Long> unitIds = new TreeSet<>();
+        for (BookingRequest request : requests) {
+            if (request.getCarUnitId() == null || request.getStartDate() == null || request.getEndDate() == null) {
+                throw new RuntimeException("Each booking needs a car unit, start date and end date");
+            }
+            unitIds.add(request.getCarUnitId());
+        }
+
+        List<ReentrantLock> locks = unitLocks.forUnits(unitIds);
+        locks.forEach(ReentrantLock::lock);
+        try {
+            List<Booking> bookings = transactionTemplate.execute(status -> insertBookings(user, requests, unitIds));
+            for (BookingRequest request : requests) {
+                bookingHoldService.releaseOverlappingHolds(user.getId(), request.getCarUnitId(),
+                    request.getStartDate(), request.getEndDate());
+            }
+            return bookings;
+        } finally {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+
+    private List<Booking> insertBookings(User user, List<BookingRequest> requests, Set<Long> unitIds) {
+        Map<Long, CarUnit> units = new HashMap<>();
+        for (CarUnit unit : carUnitRepository.findAllByIdForUpdate(unitIds)) {
+            units.put(unit.getId(), unit);
+        }
+        for (Long unitId : unitIds) {
+            if (!units.containsKey(unitId)) {
+                throw new RuntimeException("Car unit not found: " + unitId);
+            }
+        }
+
+        // Requests in the batch must not overlap each other
+        List<BookingRequest> sorted = new ArrayList<>(requests);
+        sorted.sort(Comparator.comparing(BookingRequest::getCarUnitId).thenComparing(BookingRequest::getStartDate));
+        for (int i = 1; i < sorted.size(); i++) {
+            BookingRequest previous = sorted.get(i - 1);
+            BookingRequest current = sorted.get(i);
+            if (previous.getCarUnitId().equals(current.getCarUnitId())
+                    && !current.getStartDate().isAfter(previous.getEndDate())) {
+                throw new RuntimeException("Overlapping bookings requested for car unit " + current.getCarUnitId());
+            }
+        }
+
+        for (BookingRequest request : requests) {
+            if (bookingHoldService.isHeld(request.getCarUnitId(), request.getStartDate(), request.getEndDate(), user.getId())) {
+                throw new RuntimeException("Car unit " + request.getCarUnitId() + " is currently on hold for another customer");
+            }
+        }
+
+        // One query for every existing booking that could clash with any request
+        LocalDate earliest = requests.stream().map(BookingRequest::getStartDate).min(LocalDate::compareTo).get();
+        LocalDate latest = requests.stream().map(BookingRequest::getEndDate).max(LocalDate::compareTo).get();
+        List<Object[]> booked = bookingRepository.findBookedRangesForUnits(unitIds, earliest, latest);
+        for (BookingRequest request : requests) {
+            for (Object[] range : booked) {
+                if (request.getCarUnitId().equals(range[0])
+                        && !((LocalDate) range[1]).isAfter(request.getEndDate())
+                        && !((LocalDate) range[2]).isBefore(request.getStartDate())) {
+                    throw new RuntimeException("Car unit " + request.getCarUnitId()
+                        + " is not available for the selected dates");
+                }
+            }
+        }
+
+        List<Booking> bookings = new ArrayList<>(requests.size());
+        for (BookingRequest request : requests) {
+            CarUnit carUnit = units.get(request.getCarUnitId());
+            double totalCost = calculateTotalCost(carUnit, request.getStartDate(), request.getEndDate());
+            bookings.add(new Booking(user, carUnit, request.getStartDate(), request.getEndDate(), totalCost));
+        }
+        batchInsert(bookings);
+        bookings.forEach(booking -> eventPublisher.publishEvent(BookingEvent.created(booking)));
+        return bookings;
+    }
+
+    // Plain JDBC batch: Booking ids are IDENTITY columns, which Hibernate will not batch
+    private void batchInsert(List<Booking> bookings) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+            connection -> connection.prepareStatement(
+                "INSERT INTO bookings (user_id, car_unit_id, start_date, end_date, total_cost, status, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws java.sql.SQLException {
+                    Booking booking = bookings.get(i);
+                    ps.setLong(1, booking.getUser().getId());
+                    ps.setLong(2, booking.getCarUnit().getId());
+                    ps.setDate(3, Date.valueOf(booking.getStartDate()));
+                    ps.setDate(4, Date.valueOf(booking.getEndDate()));
+                    ps.setDouble(5, booking.getTotalCost());
+                    ps.setString(6, booking.getStatus());
+                    ps.setTimestamp(7, Timestamp.valueOf(booking.getCreatedAt()));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return bookings.size();
+                }
+            },
+            keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < bookings.size(); i++) {
+            bookings.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    private double calculateTotalCost(CarUnit carUnit, LocalDate startDate, LocalDate endDate) {
         // Calculate total cost (daily rate * number of days)
-        long days = ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate());
+        long days = ChronoUnit.DAYS.between(startDate, endDate);
         if (days <= 0) {
             days = 1; // Minimum 1 day
         }
-        double totalCost = carUnit.getCarModel().getPerDayRate() * days;
-
-        Booking booking = new Booking(user, carUnit, request.getStartDate(), request.getEndDate(), totalCost);
-        return bookingRepository.save(booking);
+        return carUnit.getCarModel().getPerDayRate() * days;
     }
     
     private boolean isUnitAvailable(Long carUnitId, LocalDate startDate, LocalDate endDate) {
@@ -58,11 +248,28 @@ public class BookingService {
             .orElseThrow(() -> new RuntimeException("Booking not found"));
     }
     
+    public BookingView getBookingView(Long id) {
+        return bookingRepository.findViewById(id)
+            .orElseThrow(() -> new RuntimeException("Booking not found"));
+    }
+    
     public void cancelBooking(Long bookingId, Long userId) {
         Booking booking = getBookingById(bookingId);
         if (!booking.getUser().getId().equals(userId)) {
             throw new RuntimeException("Unauthorized to cancel this booking");
         }
-        bookingRepository.delete(booking);
+        ReentrantLock lock = unitLocks.forUnit(booking.getCarUnit().getId());
+        lock.lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // The booking was read before the lock; only the request that deletes it announces it
+                if (bookingRepository.deleteBookingById(booking.getId()) != 1) {
+                    throw new RuntimeException("Booking not found");
+                }
+                eventPublisher.publishEvent(BookingEvent.cancelled(booking));
+            });
+        } finally {
+            lock.unlock();
+        }
     }
 }
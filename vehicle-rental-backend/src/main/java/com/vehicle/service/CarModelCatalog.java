@@ -0,0 +1,315 @@
+package com.vehicle.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.vehicle.dto.CatalogResult;
+import com.vehicle.dto.RateFacet;
+import com.vehicle.model.CarModel;
+import com.vehicle.repository.CarModelRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Read-through cache of the whole car model catalog. Every write path calls invalidate();
+// the TTL only bounds staleness from writes made on other nodes. Callers get copies, so
+// editing a returned model cannot change what other requests are served.
+@Service
+public class CarModelCatalog {
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Value("${vroom.catalog.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${vroom.catalog.cache.max-models:10000}")
+    private int maxModels;
+
+    // Lower bounds of the per-day rate buckets after the first one, ascending
+    @Value("${vroom.catalog.rate-buckets:1000,2000,3000,5000}")
+    private double[] rateBuckets;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    // Bumped on every invalidation; a load only installs its snapshot if nothing changed meanwhile
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    public CarModelCatalog(MeterRegistry meterRegistry) {
+        this.hits = Counter.builder("vroom.catalog.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("vroom.catalog.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("vroom.catalog.cache.size", this, catalog -> {
+            Snapshot current = catalog.snapshot;
+            return current == null ? 0 : current.models.size();
+        }).register(meterRegistry);
+    }
+
+    public List<CarModel> getAll() {
+        return copies(current().models);
+    }
+
+    public Optional<CarModel> getById(Long id) {
+        return Optional.ofNullable(current().byId.get(id)).map(CarModelCatalog::copy);
+    }
+
+    public List<CarModel> getBySellerId(Long sellerId) {
+        return copies(current().bySeller.getOrDefault(sellerId, List.of()));
+    }
+
+    public List<CarModel> getByType(String type) {
+        return current().models.stream()
+            .filter(model -> type != null && type.equals(model.getType()))
+            .map(CarModelCatalog::copy)
+            .collect(Collectors.toList());
+    }
+
+    // Filtered and sorted catalog with facet counts. Facets are disjunctive: type counts
+    // ignore the type filter and bucket counts ignore the rate filters, so the client can
+    // show how many models each alternative choice would give.
+    public CatalogResult query(Collection<String> types, Long sellerId, Double minRate, Double maxRate,
+                               String rateBucket, String sort, String direction) {
+        Snapshot current = current();
+        Set<String> typeFilter = types == null ? Set.of() : Set.copyOf(types);
+        int bucket = rateBucket == null ? -1 : current.bucketIndex(rateBucket);
+        Comparator<CarModel> order = comparator(sort, direction);
+
+        List<CarModel> items = current.models.stream()
+            .filter(model -> sellerId == null || sellerId.equals(model.getSellerId()))
+            .filter(model -> typeFilter.isEmpty() || typeFilter.contains(model.getType()))
+            .filter(model -> inRange(model, minRate, maxRate))
+            .filter(model -> bucket < 0 || current.bucketOf(model.getPerDayRate()) == bucket)
+            .sorted(order)
+            .map(CarModelCatalog::copy)
+            .toList();
+
+        long[] typeCounts = new long[current.types.size()];
+        long[] bucketCounts = new long[current.bounds.length + 1];
+        if (minRate == null && maxRate == null) {
+            // Straight from the precomputed seller x type x bucket counts
+            long[][] cube = sellerId == null ? current.cube : current.cubeBySeller.get(sellerId);
+            for (int t = 0; cube != null && t < typeCounts.length; t++) {
+                boolean typeSelected = typeFilter.isEmpty() || typeFilter.contains(current.types.get(t));
+                for (int b = 0; b < bucketCounts.length; b++) {
+                    if (bucket < 0 || bucket == b) {
+                        typeCounts[t] += cube[t][b];
+                    }
+                    if (typeSelected) {
+                        bucketCounts[b] += cube[t][b];
+                    }
+                }
+            }
+        } else {
+            // An arbitrary rate range does not line up with the buckets, so count by scanning
+            for (CarModel model : current.models) {
+                Integer t = current.typeIndex.get(model.getType());
+                if (t == null || (sellerId != null && !sellerId.equals(model.getSellerId()))
+                        || !inRange(model, minRate, maxRate)) {
+                    continue;
+                }
+                int b = current.bucketOf(model.getPerDayRate());
+                if (bucket < 0 || bucket == b) {
+                    typeCounts[t]++;
+                }
+                if (typeFilter.isEmpty() || typeFilter.contains(model.getType())) {
+                    bucketCounts[b]++;
+                }
+            }
+        }
+
+        Map<String, Long> typeFacets = new LinkedHashMap<>();
+        for (int t = 0; t < typeCounts.length; t++) {
+            typeFacets.put(current.types.get(t), typeCounts[t]);
+        }
+        List<RateFacet> rateFacets = new ArrayList<>();
+        for (int b = 0; b < bucketCounts.length; b++) {
+            rateFacets.add(new RateFacet(current.bucketKey(b), b == 0 ? 0 : current.bounds[b - 1],
+                b < current.bounds.length ? current.bounds[b] : null, bucketCounts[b]));
+        }
+        return new CatalogResult(items, items.size(), typeFacets, rateFacets);
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+
+    // Derived from the loaded models, so every node holding the same catalog reports the
+    // same version; writes made elsewhere change it once this node has reloaded
+    public String getVersion() {
+        // Read without current() so tagging a request does not count as a cache hit
+        Snapshot loaded = snapshot;
+        if (loaded == null || loaded.isExpired(ttlSeconds)) {
+            loaded = current();
+        }
+        return loaded.version;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && !current.isExpired(ttlSeconds)) {
+            hits.increment();
+            return current;
+        }
+        misses.increment();
+        // Not synchronized: the load is a database call and would pin a virtual thread's carrier
+        loadLock.lock();
+        try {
+            current = snapshot;
+            if (current != null && !current.isExpired(ttlSeconds)) {
+                return current;
+            }
+            long loadVersion = version.get();
+            Snapshot loaded = new Snapshot(carModelRepository.findAll(), rateBuckets);
+            // Catalogs beyond the bound are served straight from the database
+            if (loaded.models.size() <= maxModels && loadVersion == version.get()) {
+                snapshot = loaded;
+            }
+            return loaded;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private static List<CarModel> copies(List<CarModel> models) {
+        return models.stream().map(CarModelCatalog::copy).toList();
+    }
+
+    // Catalog columns only; units are not loaded with the catalog
+    private static CarModel copy(CarModel model) {
+        CarModel copy = new CarModel(model.getName(), model.getType(), model.getImageUrl(), model.getPerDayRate());
+        copy.setId(model.getId());
+        copy.setPerHourRate(model.getPerHourRate());
+        copy.setSellerId(model.getSellerId());
+        return copy;
+    }
+
+    private static boolean inRange(CarModel model, Double minRate, Double maxRate) {
+        return (minRate == null || model.getPerDayRate() >= minRate)
+            && (maxRate == null || model.getPerDayRate() <= maxRate);
+    }
+
+    private static Comparator<CarModel> comparator(String sort, String direction) {
+        Comparator<CarModel> order;
+        if (sort == null || "name".equals(sort)) {
+            order = Comparator.comparing(model -> model.getName() == null ? "" : model.getName().toLowerCase());
+        } else if ("rate".equals(sort)) {
+            order = Comparator.comparingDouble(CarModel::getPerDayRate);
+        } else {
+            throw new RuntimeException("Cannot sort by " + sort + ", expected name or rate");
+        }
+        if ("desc".equalsIgnoreCase(direction)) {
+            order = order.reversed();
+        }
+        return order.thenComparing(CarModel::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    private static class Snapshot {
+
+        final List<CarModel> models;
+        final Map<Long, CarModel> byId = new HashMap<>();
+        final Map<Long, List<CarModel>> bySeller;
+        final long loadedAt = System.currentTimeMillis();
+        final String version;
+
+        // Facet aggregate: model counts per [type][rate bucket], overall and per seller
+        final double[] bounds;
+        final List<String> types;
+        final Map<String, Integer> typeIndex = new HashMap<>();
+        final long[][] cube;
+        final Map<Long, long[][]> cubeBySeller = new HashMap<>();
+
+        Snapshot(List<CarModel> models, double[] rawBounds) {
+            this.models = Collections.unmodifiableList(models);
+            long maxId = 0;
+            long contentHash = 0;
+            for (CarModel model : models) {
+                byId.put(model.getId(), model);
+                maxId = Math.max(maxId, model.getId() == null ? 0 : model.getId());
+                // Summed so the load order does not matter; the multiplier spreads each model's hash
+                contentHash += 0x9E3779B97F4A7C15L * Objects.hash(model.getId(), model.getName(), model.getType(),
+                    model.getImageUrl(), model.getPerDayRate(), model.getPerHourRate(), model.getSellerId());
+            }
+            this.version = models.size() + "." + maxId + "." + Long.toHexString(contentHash);
+            this.bySeller = models.stream()
+                .filter(model -> model.getSellerId() != null)
+                .collect(Collectors.groupingBy(CarModel::getSellerId, Collectors.toUnmodifiableList()));
+
+            this.bounds = DoubleStream.of(rawBounds).sorted().distinct().toArray();
+            this.types = models.stream()
+                .map(CarModel::getType)
+                .filter(type -> type != null)
+                .collect(Collectors.toCollection(TreeSet::new))
+                .stream().toList();
+            for (int t = 0; t < types.size(); t++) {
+                typeIndex.put(types.get(t), t);
+            }
+            this.cube = new long[types.size()][bounds.length + 1];
+            for (CarModel model : models) {
+                Integer t = typeIndex.get(model.getType());
+                if (t == null) {
+                    continue;
+                }
+                int b = bucketOf(model.getPerDayRate());
+                cube[t][b]++;
+                if (model.getSellerId() != null) {
+                    cubeBySeller.computeIfAbsent(model.getSellerId(), id -> new long[types.size()][bounds.length + 1])[t][b]++;
+                }
+            }
+        }
+
+        int bucketOf(double rate) {
+            int b = 0;
+            while (b < bounds.length && rate >= bounds[b]) {
+                b++;
+            }
+            return b;
+        }
+
+        String bucketKey(int b) {
+            String lower = b == 0 ? "0" : format(bounds[b - 1]);
+            return b == bounds.length ? lower + "+" : lower + "-" + format(bounds[b]);
+        }
+
+        int bucketIndex(String key) {
+            for (int b = 0; b <= bounds.length; b++) {
+                if (bucketKey(b).equals(key)) {
+                    return b;
+                }
+            }
+            throw new RuntimeException("Unknown rate bucket: " + key);
+        }
+
+        private static String format(double value) {
+            return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+        }
+
+        boolean isExpired(long ttlSeconds) {
+            return System.currentTimeMillis() - loadedAt > ttlSeconds * 1000;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.vehicle.service;
 
+import com.vehicle.event.CarModelEvent;
 import com.vehicle.model.CarModel;
 import com.vehicle.repository.CarModelRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -14,12 +16,18 @@ public class CarModelService {
     @Autowired
     private CarModelRepository carModelRepository;
 
+    @Autowired
+    private CarModelCatalog carModelCatalog;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<CarModel> getAllCarModels() {
-        return carModelRepository.findAll();
+        return carModelCatalog.getAll();
     }
 
     public CarModel getCarModelById(Long id) {
-        Optional<CarModel> model = carModelRepository.findById(id);
+        Optional<CarModel> model = carModelCatalog.getById(id);
         if (model.isPresent()) {
             return model.get();
         } else {
@@ -28,12 +36,18 @@ public class CarModelService {
     }
 
     public CarModel addCarModel(CarModel model) {
-        return carModelRepository.save(model);
+        CarModel saved = carModelRepository.save(model);
+        carModelCatalog.invalidate();
+        eventPublisher.publishEvent(CarModelEvent.saved(saved));
+        return saved;
     }
 
     public CarModel updateCarModel(CarModel model) {
         if (carModelRepository.existsById(model.getId())) {
-            return carModelRepository.save(model);
+            CarModel saved = carModelRepository.save(model);
+            carModelCatalog.invalidate();
+            eventPublisher.publishEvent(CarModelEvent.saved(saved));
+            return saved;
         } else {
             throw new RuntimeException("Car model not found with id: " + model.getId());
         }
@@ -42,12 +56,14 @@ public class CarModelService {
     public void deleteCarModel(Long id) {
         if (carModelRepository.existsById(id)) {
             carModelRepository.deleteById(id);
+            carModelCatalog.invalidate();
+            eventPublisher.publishEvent(CarModelEvent.deleted(id));
         } else {
             throw new RuntimeException("Car model not found with id: " + id);
         }
     }
 
     public List<CarModel> getCarModelsByType(String type) {
-        return carModelRepository.findByType(type);
+        return carModelCatalog.getByType(type);
     }
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.vehicle.service;
 
+import com.vehicle.event.CarUnitEvent;
 import com.vehicle.model.CarModel;
 import com.vehicle.model.CarUnit;
 import com.vehicle.repository.CarUnitRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,6 +17,9 @@ public class CarUnitService {
     @Autowired
     private CarUnitRepository carUnitRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<CarUnit> getAllCarUnits() {
         return carUnitRepository.findAll();
     }
@@ -42,20 +47,22 @@ public class CarUnitService {
     public CarUnit addCarUnit(CarUnit unit) {
         // Set available to true by default for new units
         unit.setAvailable(true);
-        return carUnitRepository.save(unit);
+        return save(unit);
     }
 
     public CarUnit updateCarUnit(CarUnit unit) {
         if (carUnitRepository.existsById(unit.getId())) {
-            return carUnitRepository.save(unit);
+            return save(unit);
         } else {
             throw new RuntimeException("Car unit not found with id: " + unit.getId());
         }
     }
 
     public void deleteCarUnit(Long id) {
-        if (carUnitRepository.existsById(id)) {
-            carUnitRepository.deleteById(id);
+        Optional<CarUnit> unitOpt = carUnitRepository.findById(id);
+        if (unitOpt.isPresent()) {
+            carUnitRepository.delete(unitOpt.get());
+            eventPublisher.publishEvent(CarUnitEvent.deleted(unitOpt.get()));
         } else {
             throw new RuntimeException("Car unit not found with id: " + id);
         }
@@ -66,7 +73,7 @@ public class CarUnitService {
         if (unitOpt.isPresent()) {
             CarUnit unit = unitOpt.get();
             unit.setAvailable(available);
-            return carUnitRepository.save(unit);
+            return save(unit);
         } else {
             throw new RuntimeException("Car unit not found with id: " + id);
         }
@@ -74,15 +81,21 @@ public class CarUnitService {
 
     public void markUnavailable(CarUnit unit) {
         unit.setAvailable(false);
-        carUnitRepository.save(unit);
+        save(unit);
     }
 
     public void markAvailable(CarUnit unit) {
         unit.setAvailable(true);
-        carUnitRepository.save(unit);
+        save(unit);
     }
 
     public Optional<CarUnit> getById(Long id) {
         return carUnitRepository.findById(id);
     }
+
+    private CarUnit save(CarUnit unit) {
+        CarUnit saved = carUnitRepository.save(unit);
+        eventPublisher.publishEvent(CarUnitEvent.saved(saved));
+        return saved;
+    }
 }
\ No newline at end of file
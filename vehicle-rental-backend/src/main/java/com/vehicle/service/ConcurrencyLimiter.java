@@ -0,0 +1,132 @@
+package com.vehicle.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Adaptive cap on requests in flight. The limit grows by one per window while smoothed
+// latency stays under the target and shrinks by a tenth per window while it is above.
+// Lower priorities may only use part of the limit, so as it shrinks search is shed first,
+// then logins, and booking commits last. All state is in atomics.
+@Service
+public class ConcurrencyLimiter {
+
+    public enum Priority {
+        // Share of the current limit each priority may occupy
+        SEARCH(0.6), LOGIN(0.85), BOOKING(1.0);
+
+        final double share;
+
+        Priority(double share) {
+            this.share = share;
+        }
+    }
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    // Exponentially weighted latency in nanoseconds, stored as double bits
+    private final AtomicLong latencyBits = new AtomicLong(Double.doubleToLongBits(0));
+    private final AtomicLong lastAdjustment = new AtomicLong(System.nanoTime());
+
+    private final boolean enabled;
+    private final double minLimit;
+    private final double maxLimit;
+    private final long targetNanos;
+    private final long windowNanos;
+
+    private final Map<Priority, Counter> shed = new EnumMap<>(Priority.class);
+
+    public ConcurrencyLimiter(MeterRegistry meterRegistry,
+                              @Value("${vroom.concurrency.enabled:true}") boolean enabled,
+                              @Value("${vroom.concurrency.initial-limit:100}") int initialLimit,
+                              @Value("${vroom.concurrency.min-limit:10}") int minLimit,
+                              @Value("${vroom.concurrency.max-limit:400}") int maxLimit,
+                              @Value("${vroom.concurrency.latency-target-ms:250}") long targetMs,
+                              @Value("${vroom.concurrency.window-ms:100}") long windowMs) {
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetNanos = TimeUnit.MILLISECONDS.toNanos(targetMs);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(initialLimit));
+
+        Gauge.builder("vroom.concurrency.limit", this, ConcurrencyLimiter::getLimit).register(meterRegistry);
+        Gauge.builder("vroom.concurrency.in-flight", inFlight, AtomicInteger::get).register(meterRegistry);
+        for (Priority priority : Priority.values()) {
+            shed.put(priority, Counter.builder("vroom.concurrency.shed")
+                .tag("priority", priority.name().toLowerCase()).register(meterRegistry));
+        }
+    }
+
+    // True if the request may start; it must then call release() exactly once
+    public boolean tryAcquire(Priority priority) {
+        if (!enabled) {
+            return true;
+        }
+        int allowed = (int) Math.max(1, getLimit() * priority.share);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                shed.get(priority).increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos) {
+        if (!enabled) {
+            return;
+        }
+        int current = inFlight.decrementAndGet();
+        double smoothed = updateLatency(latencyNanos);
+
+        // At most one adjustment per window, made by whichever request wins the CAS
+        long now = System.nanoTime();
+        long last = lastAdjustment.get();
+        if (now - last < windowNanos || !lastAdjustment.compareAndSet(last, now)) {
+            return;
+        }
+        double limit = getLimit();
+        if (smoothed > targetNanos) {
+            setLimit(Math.max(minLimit, limit * 0.9));
+        } else if (current + 1 >= limit * 0.5) {
+            // Only grow while the limit is actually being used
+            setLimit(Math.min(maxLimit, limit + 1));
+        }
+    }
+
+    public double getLimit() {
+        return Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void setLimit(double limit) {
+        limitBits.set(Double.doubleToLongBits(limit));
+    }
+
+    private double updateLatency(long sampleNanos) {
+        while (true) {
+            long bits = latencyBits.get();
+            double previous = Double.longBitsToDouble(bits);
+            double next = previous == 0 ? sampleNanos : previous * 0.9 + sampleNanos * 0.1;
+            if (latencyBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return next;
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.vehicle.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.vehicle.dto.FleetHeatmap;
+import com.vehicle.dto.FleetHeatmapRow;
+import com.vehicle.repository.BookingRepository;
+import com.vehicle.repository.CarUnitRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+// Utilization by car model type and day of week over the past year. Bookings are read in
+// keyset chunks of a few columns; each chunk is turned into primitive arrays and counted on
+// a fork-join pool while the next chunk is fetched. Counts live in one long[types * 7].
+// A unit counts as booked on every day from start to end date inclusive, as in the
+// availability calendar. The result is cached and recomputed once it is older than the TTL.
+@Service
+public class FleetUtilizationService {
+
+    private static final int DAYS_PER_WEEK = 7;
+    // Bookings per fork-join leaf; each one is a handful of arithmetic operations
+    private static final int LEAF_SIZE = 4096;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CarUnitRepository carUnitRepository;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final long ttlMillis;
+    private final Timer computeTimer;
+
+    private final ReentrantLock computeLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    public FleetUtilizationService(MeterRegistry meterRegistry,
+                                   @Value("${vroom.analytics.heatmap.parallelism:0}") int parallelism,
+                                   @Value("${vroom.analytics.heatmap.chunk-size:10000}") int chunkSize,
+                                   @Value("${vroom.analytics.heatmap.ttl-minutes:15}") long ttlMinutes) {
+        // Own pool so a long computation never starves the common pool used by parallel streams
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.chunkSize = Math.max(1, chunkSize);
+        this.ttlMillis = ttlMinutes * 60_000;
+        this.computeTimer = Timer.builder("vroom.analytics.heatmap.compute").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // Cached heatmap for the year up to yesterday; only one caller recomputes an expired one
+    public FleetHeatmap getHeatmap(boolean refresh) {
+        Snapshot current = snapshot;
+        if (!refresh && current != null && current.isFresh()) {
+            return current.heatmap;
+        }
+        computeLock.lock();
+        try {
+            current = snapshot;
+            if (refresh || current == null || !current.isFresh()) {
+                LocalDate to = LocalDate.now().minusDays(1);
+                FleetHeatmap heatmap = computeTimer.record(() -> compute(to.minusYears(1).plusDays(1), to));
+                current = new Snapshot(heatmap, System.currentTimeMillis() + ttlMillis);
+                snapshot = current;
+            }
+            return current.heatmap;
+        } finally {
+            computeLock.unlock();
+        }
+    }
+
+    public FleetHeatmap compute(LocalDate from, LocalDate to) {
+        // Unit counts per type give the capacity; a type only booked under units since
+        // deleted still gets a row, with zero capacity
+        List<String> types = new ArrayList<>();
+        Map<String, Integer> typeIndex = new HashMap<>();
+        List<Long> unitCounts = new ArrayList<>();
+        for (Object[] row : carUnitRepository.countByModelType()) {
+            typeIndex.put(String.valueOf(row[0]), types.size());
+            types.add(String.valueOf(row[0]));
+            unitCounts.add((Long) row[1]);
+        }
+
+        long firstDay = from.toEpochDay();
+        long lastDay = to.toEpochDay();
+        long[] counts = new long[0];
+        long scanned = 0;
+        long afterId = 0;
+        ForkJoinTask<long[]> pending = null;
+        while (true) {
+            List<Object[]> rows = bookingRepository.findTypedRangesAfter(afterId, from, to, Limit.of(chunkSize));
+            if (rows.isEmpty()) {
+                break;
+            }
+            int[] type = new int[rows.size()];
+            long[] start = new long[rows.size()];
+            long[] end = new long[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                Object[] row = rows.get(i);
+                type[i] = typeIndex.computeIfAbsent(String.valueOf(row[1]), key -> {
+                    types.add(key);
+                    unitCounts.add(0L);
+                    return types.size() - 1;
+                });
+                start[i] = ((LocalDate) row[2]).toEpochDay();
+                end[i] = ((LocalDate) row[3]).toEpochDay();
+            }
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+            scanned += rows.size();
+
+            // Count the previous chunk's result in while this one is submitted
+            if (pending != null) {
+                counts = merge(counts, pending.join());
+            }
+            pending = pool.submit(new CountTask(type, start, end, 0, rows.size(), types.size(), firstDay, lastDay));
+            if (rows.size() < chunkSize) {
+                break;
+            }
+        }
+        if (pending != null) {
+            counts = merge(counts, pending.join());
+        }
+
+        long[] daysPerWeekday = new long[DAYS_PER_WEEK];
+        addDays(daysPerWeekday, 0, firstDay, lastDay);
+        List<FleetHeatmapRow> heatmapRows = new ArrayList<>(types.size());
+        for (int t = 0; t < types.size(); t++) {
+            long[] booked = new long[DAYS_PER_WEEK];
+            double[] utilization = new double[DAYS_PER_WEEK];
+            for (int d = 0; d < DAYS_PER_WEEK; d++) {
+                int cell = t * DAYS_PER_WEEK + d;
+                booked[d] = cell < counts.length ? counts[cell] : 0;
+                long capacity = unitCounts.get(t) * daysPerWeekday[d];
+                utilization[d] = capacity == 0 ? 0 : Math.round(10000.0 * booked[d] / capacity) / 100.0;
+            }
+            heatmapRows.add(new FleetHeatmapRow(types.get(t), unitCounts.get(t), booked, utilization));
+        }
+
+        FleetHeatmap heatmap = new FleetHeatmap();
+        heatmap.setFrom(from);
+        heatmap.setTo(to);
+        heatmap.setDays(Arrays.stream(DayOfWeek.values()).map(DayOfWeek::name).toList());
+        heatmap.setRows(heatmapRows);
+        heatmap.setBookingsScanned(scanned);
+        heatmap.setComputedAt(LocalDateTime.now());
+        return heatmap;
+    }
+
+    // Adds one to counts[base + weekday] for every day in [first, last], Monday = 0:
+    // whole weeks at once, then the remainder from the first day's weekday
+    static void addDays(long[] counts, int base, long first, long last) {
+        long days = last - first + 1;
+        if (days <= 0) {
+            return;
+        }
+        long weeks = days / DAYS_PER_WEEK;
+        for (int d = 0; d < DAYS_PER_WEEK; d++) {
+            counts[base + d] += weeks;
+        }
+        // Epoch day 0 (1970-01-01) was a Thursday
+        int weekday = (int) Math.floorMod(first + 3, DAYS_PER_WEEK);
+        for (int i = 0; i < days % DAYS_PER_WEEK; i++) {
+            counts[base + (weekday + i) % DAYS_PER_WEEK]++;
+        }
+    }
+
+    // Element-wise sum; the later array is never shorter, since types are only appended
+    private static long[] merge(long[] into, long[] from) {
+        long[] merged = from.length > into.length ? Arrays.copyOf(into, from.length) : into;
+        for (int i = 0; i < from.length; i++) {
+            merged[i] += from[i];
+        }
+        return merged;
+    }
+
+    private static final class CountTask extends RecursiveTask<long[]> {
+
+        private final int[] type;
+        private final long[] start;
+        private final long[] end;
+        private final int from;
+        private final int to;
+        private final int types;
+        private final long firstDay;
+        private final long lastDay;
+
+        CountTask(int[] type, long[] start, long[] end, int from, int to, int types, long firstDay, long lastDay) {
+            this.type = type;
+            this.start = start;
+            this.end = end;
+            this.from = from;
+            this.to = to;
+            this.types = types;
+            this.firstDay = firstDay;
+            this.lastDay = lastDay;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= LEAF_SIZE) {
+                long[] counts = new long[types * DAYS_PER_WEEK];
+                for (int i = from; i < to; i++) {
+                    addDays(counts, type[i] * DAYS_PER_WEEK, Math.max(start[i], firstDay), Math.min(end[i], lastDay));
+                }
+                return counts;
+            }
+            int middle = (from + to) >>> 1;
+            CountTask left = new CountTask(type, start, end, from, middle, types, firstDay, lastDay);
+            left.fork();
+            long[] counts = new CountTask(type, start, end, middle, to, types, firstDay, lastDay).compute();
+            long[] other = left.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other[i];
+            }
+            return counts;
+        }
+    }
+
+    private static final class Snapshot {
+
+        private final FleetHeatmap heatmap;
+        private final long expiresAt;
+
+        Snapshot(FleetHeatmap heatmap, long expiresAt) {
+            this.heatmap = heatmap;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isFresh() {
+            return System.currentTimeMillis() < expiresAt;
+        }
+    }
+}
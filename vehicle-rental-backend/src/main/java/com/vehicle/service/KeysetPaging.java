@@ -0,0 +1,110 @@
+package com.vehicle.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.vehicle.dto.KeysetPage;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+// Keyset (seek) pagination over (sortField, id): each page continues after the last row of
+// the previous one, so deep pages cost the same as the first. Cursors are opaque to clients.
+// Rows are read straight into the view's constructor, like the repositories' JPQL
+// projections, so only the listed columns are selected and no entity is loaded.
+public final class KeysetPaging {
+
+    public static final int MAX_LIMIT = 200;
+
+    private KeysetPaging() {}
+
+    // The view's constructor arguments, in order, read from the root and any joins it makes
+    @FunctionalInterface
+    public interface Columns<T> {
+        List<Selection<?>> select(Root<T> root);
+    }
+
+    public static <T, R> KeysetPage<R> fetch(EntityManager entityManager, Class<T> entity, Class<R> view,
+                                             Columns<T> columns, Specification<T> spec,
+                                             Map<String, Function<String, Object>> sortFields, String sortField,
+                                             String direction, String cursor, Integer limit) {
+        String field = sortField == null || sortField.isBlank() ? "id" : sortField;
+        Function<String, Object> parser = sortFields.get(field);
+        if (parser == null) {
+            throw new RuntimeException("Cannot sort by " + field + ", expected one of " + sortFields.keySet());
+        }
+        boolean ascending = "asc".equalsIgnoreCase(direction);
+        int size = Math.max(1, Math.min(limit == null ? 50 : limit, MAX_LIMIT));
+        Object[] after = decode(cursor, field, parser);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<T> root = query.from(entity);
+        Path<Object> sortPath = root.get(field);
+        Path<Object> idPath = root.get("id");
+        // The keys the next cursor is made of, then the view. Keys go first: ORDER BY refers to
+        // selected columns by position, which Hibernate gets wrong for keys placed after a view.
+        query.multiselect(sortPath, idPath, cb.construct(view, columns.select(root).toArray(new Selection<?>[0])));
+
+        List<Predicate> where = new ArrayList<>();
+        Predicate filter = spec.toPredicate(root, query, cb);
+        if (filter != null) {
+            where.add(filter);
+        }
+        if (after != null) {
+            Predicate idAfter = beyond(cb, idPath, after[1], ascending);
+            where.add("id".equals(field) ? idAfter
+                : cb.or(beyond(cb, sortPath, after[0], ascending), cb.and(cb.equal(sortPath, after[0]), idAfter)));
+        }
+        query.where(where.toArray(new Predicate[0]));
+        query.orderBy("id".equals(field)
+            ? List.of(ascending ? cb.asc(idPath) : cb.desc(idPath))
+            : List.of(ascending ? cb.asc(sortPath) : cb.desc(sortPath), ascending ? cb.asc(idPath) : cb.desc(idPath)));
+
+        // One row past the page tells whether there is a next one
+        List<Object[]> rows = entityManager.createQuery(query).setMaxResults(size + 1).getResultList();
+        boolean hasNext = rows.size() > size;
+        List<Object[]> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? encode(page.get(page.size() - 1), field) : null;
+        return new KeysetPage<>(page.stream().map(row -> view.cast(row[2])).toList(), nextCursor);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate beyond(CriteriaBuilder cb, Path path, Object value, boolean ascending) {
+        return ascending ? cb.greaterThan(path, (Comparable) value) : cb.lessThan(path, (Comparable) value);
+    }
+
+    private static String encode(Object[] row, String field) {
+        String raw = "id".equals(field) ? String.valueOf(row[1]) : row[0] + "|" + row[1];
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // [sort value, id] of the last row of the previous page, or null for the first page
+    private static Object[] decode(String cursor, String field, Function<String, Object> parser) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if ("id".equals(field)) {
+                Long id = Long.valueOf(raw);
+                return new Object[] {id, id};
+            }
+            int split = raw.lastIndexOf('|');
+            return new Object[] {parser.apply(raw.substring(0, split)), Long.valueOf(raw.substring(split + 1))};
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
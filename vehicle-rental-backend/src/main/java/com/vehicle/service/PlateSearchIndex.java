@@ -0,0 +1,240 @@
+package com.vehicle.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.vehicle.event.CarUnitEvent;
+import com.vehicle.model.CarUnit;
+import com.vehicle.repository.CarUnitRepository;
+
+// Trigram index over number plates. Plates are normalized to upper-case letters and
+// digits and padded as "$$PLATE$", so a prefix query matches the grams of "$$QUERY",
+// a substring query the grams of "QUERY", and fuzzy queries rank plates by the share
+// of trigrams they have in common with the query. Kept current by unit events on this
+// node and rebuilt from the database every vroom.search.reload-interval-ms, which picks
+// up units written on other nodes.
+@Service
+public class PlateSearchIndex {
+
+    private static final char PAD = '$';
+
+    @Autowired
+    private CarUnitRepository carUnitRepository;
+
+    @Value("${vroom.search.plate.fuzzy-threshold:0.3}")
+    private double fuzzyThreshold;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, String> plates = new HashMap<>();
+    private final Map<Integer, Set<Long>> postings = new HashMap<>();
+
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        // Read before locking so searches are only blocked while the maps are refilled
+        List<Object[]> rows = carUnitRepository.findAllNumberPlates();
+        lock.writeLock().lock();
+        try {
+            plates.clear();
+            postings.clear();
+            for (Object[] row : rows) {
+                put((Long) row[0], (String) row[1]);
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${vroom.search.reload-interval-ms:600000}",
+               fixedDelayString = "${vroom.search.reload-interval-ms:600000}")
+    public void reload() {
+        load();
+    }
+
+    // Searches fall back to the database until the index has been loaded
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener
+    public void onCarUnitEvent(CarUnitEvent event) {
+        CarUnit unit = event.getCarUnit();
+        if (unit == null || unit.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            remove(unit.getId());
+            if (event.getType() == CarUnitEvent.Type.SAVED) {
+                put(unit.getId(), unit.getNumberPlate());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Unit ids whose plate starts with the query, in plate order
+    public List<Long> prefix(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return matching("" + PAD + PAD + normalized, normalized, true, limit);
+    }
+
+    // Unit ids whose plate contains the query, in plate order
+    public List<Long> contains(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return matching(normalized, normalized, false, limit);
+    }
+
+    // Unit ids whose plate shares enough trigrams with the query, most similar first.
+    // Tolerates a mistyped or missing character, which substring search cannot.
+    public List<Long> fuzzy(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        Set<Integer> queryGrams = grams(padded(normalized));
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> shared = new HashMap<>();
+            for (Integer gram : queryGrams) {
+                for (Long id : postings.getOrDefault(gram, Set.of())) {
+                    shared.merge(id, 1, Integer::sum);
+                }
+            }
+            List<Scored> scored = new ArrayList<>();
+            for (Map.Entry<Long, Integer> entry : shared.entrySet()) {
+                String plate = plates.get(entry.getKey());
+                int plateGrams = grams(padded(plate)).size();
+                double similarity = (double) entry.getValue() / (queryGrams.size() + plateGrams - entry.getValue());
+                if (similarity >= fuzzyThreshold) {
+                    scored.add(new Scored(entry.getKey(), plate, similarity));
+                }
+            }
+            scored.sort(Comparator.comparingDouble(Scored::similarity).reversed().thenComparing(Scored::plate));
+            return scored.stream().limit(limit).map(Scored::id).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> matching(String gramSource, String normalized, boolean anchored, int limit) {
+        lock.readLock().lock();
+        try {
+            Iterable<Long> candidates = gramSource.length() < 3 ? plates.keySet() : intersect(grams(gramSource));
+            List<Long> ids = new ArrayList<>();
+            for (Long id : candidates) {
+                String plate = plates.get(id);
+                // Trigrams can match out of order, so each candidate is confirmed against the plate
+                if (anchored ? plate.startsWith(normalized) : plate.contains(normalized)) {
+                    ids.add(id);
+                }
+            }
+            ids.sort(Comparator.comparing((Long id) -> plates.get(id)).thenComparing(id -> id));
+            return ids.size() > limit ? ids.subList(0, limit) : ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Long> intersect(Set<Integer> grams) {
+        List<Set<Long>> lists = new ArrayList<>();
+        for (Integer gram : grams) {
+            Set<Long> posting = postings.get(gram);
+            if (posting == null) {
+                return Set.of();
+            }
+            lists.add(posting);
+        }
+        // Start from the rarest gram so the working set is as small as possible
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private void put(Long id, String numberPlate) {
+        String normalized = normalize(numberPlate);
+        if (id == null || normalized.isEmpty()) {
+            return;
+        }
+        plates.put(id, normalized);
+        for (Integer gram : grams(padded(normalized))) {
+            postings.computeIfAbsent(gram, key -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void remove(Long id) {
+        String previous = plates.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (Integer gram : grams(padded(previous))) {
+            Set<Long> posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toUpperCase(text.charAt(i));
+            if ((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static String padded(String normalized) {
+        return "" + PAD + PAD + normalized + PAD;
+    }
+
+    // Each trigram packed into an int, base 37 over [$, 0-9, A-Z]
+    private static Set<Integer> grams(String text) {
+        Set<Integer> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add((code(text.charAt(i)) * 37 + code(text.charAt(i + 1))) * 37 + code(text.charAt(i + 2)));
+        }
+        return grams;
+    }
+
+    private static int code(char c) {
+        if (c == PAD) {
+            return 0;
+        }
+        return c <= '9' ? 1 + c - '0' : 11 + c - 'A';
+    }
+
+    private record Scored(Long id, String plate, double similarity) {}
+}
@@ -0,0 +1,93 @@
+package com.vehicle.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Per-client token buckets, one set per endpoint group. Each bucket is a single AtomicLong
+// holding the time at which it will be full again (the GCRA form of a token bucket), so a
+// check is one read and one CAS; no locks and no refill thread.
+@Service
+public class RateLimiter {
+
+    public enum Group {
+        LOGIN, SEARCH, BOOKING
+    }
+
+    // Tokens refill at ratePerSecond up to burst
+    static final class Policy {
+        final long intervalNanos;
+        final long toleranceNanos;
+
+        Policy(double ratePerSecond, int burst) {
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+            this.toleranceNanos = intervalNanos * Math.max(0, burst - 1);
+        }
+    }
+
+    private final boolean enabled;
+
+    private final Map<Group, Policy> policies = new EnumMap<>(Group.class);
+    private final Map<Group, Counter> rejected = new EnumMap<>(Group.class);
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(Environment environment, MeterRegistry meterRegistry) {
+        this.enabled = environment.getProperty("vroom.ratelimit.enabled", Boolean.class, true);
+        policies.put(Group.LOGIN, policy(environment, "login", 0.2, 5));
+        policies.put(Group.SEARCH, policy(environment, "search", 10, 30));
+        policies.put(Group.BOOKING, policy(environment, "booking", 2, 10));
+        for (Group group : Group.values()) {
+            rejected.put(group, Counter.builder("vroom.ratelimit.rejected")
+                .tag("group", group.name().toLowerCase()).register(meterRegistry));
+        }
+    }
+
+    private static Policy policy(Environment environment, String group, double defaultRate, int defaultBurst) {
+        double rate = environment.getProperty("vroom.ratelimit." + group + ".rate-per-second", Double.class, defaultRate);
+        int burst = environment.getProperty("vroom.ratelimit." + group + ".burst", Integer.class, defaultBurst);
+        return new Policy(rate, burst);
+    }
+
+    // 0 when the request may proceed, otherwise the nanoseconds until it would be allowed
+    public long tryAcquire(Group group, String clientKey) {
+        if (!enabled) {
+            return 0;
+        }
+        Policy policy = policies.get(group);
+        AtomicLong bucket = buckets.computeIfAbsent(group.name() + ':' + clientKey, key -> new AtomicLong(System.nanoTime()));
+        while (true) {
+            long now = System.nanoTime();
+            long fullAt = bucket.get();
+            // nanoTime values are only comparable by difference
+            long next = (fullAt - now > 0 ? fullAt : now) + policy.intervalNanos;
+            long wait = next - now - policy.toleranceNanos - policy.intervalNanos;
+            if (wait > 0) {
+                rejected.get(group).increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Buckets that have refilled completely carry no state worth keeping
+    @Scheduled(fixedDelayString = "${vroom.ratelimit.sweep-interval-ms:60000}")
+    public void sweepIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+}
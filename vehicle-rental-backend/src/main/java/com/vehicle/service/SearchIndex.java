@@ -0,0 +1,281 @@
+package com.vehicle.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.vehicle.dto.SearchHit;
+import com.vehicle.dto.UserSummary;
+import com.vehicle.event.CarModelEvent;
+import com.vehicle.event.CarUnitEvent;
+import com.vehicle.event.UserEvent;
+import com.vehicle.model.CarModel;
+import com.vehicle.model.CarUnit;
+import com.vehicle.model.User;
+import com.vehicle.repository.CarModelRepository;
+import com.vehicle.repository.CarUnitRepository;
+import com.vehicle.repository.UserRepository;
+
+// Inverted index over users (name, email, phone), car models (name, type) and car units
+// (plate) for admin search and typeahead. Every query term is matched as a token prefix,
+// all terms must match, and hits are ranked by field weight, how much of the token the
+// term covers and how rare the token is. Kept current by write events on this node and
+// rebuilt from the database every vroom.search.reload-interval-ms, which picks up writes
+// made on other nodes.
+@Service
+public class SearchIndex {
+
+    public static final String USER = "user";
+    public static final String MODEL = "model";
+    public static final String UNIT = "unit";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private CarUnitRepository carUnitRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Doc> docs = new HashMap<>();
+    // Sorted so that all tokens starting with a prefix form one contiguous range
+    private final TreeMap<String, Map<Doc, Double>> postings = new TreeMap<>();
+
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        // Read before locking so searches are only blocked while the maps are refilled
+        List<UserSummary> users = userRepository.findAllSummaries();
+        List<CarModel> models = carModelRepository.findAll();
+        List<Object[]> units = carUnitRepository.findAllNumberPlates();
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            postings.clear();
+            for (UserSummary user : users) {
+                putUser(user.getId(), user.getName(), user.getEmail(), user.getPhone());
+            }
+            for (CarModel model : models) {
+                putModel(model);
+            }
+            for (Object[] row : units) {
+                putUnit((Long) row[0], (String) row[1], (Long) row[2]);
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${vroom.search.reload-interval-ms:600000}",
+               fixedDelayString = "${vroom.search.reload-interval-ms:600000}")
+    public void reload() {
+        load();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener
+    public void onUserEvent(UserEvent event) {
+        User user = event.getUser();
+        write(() -> putUser(user.getId(), user.getName(), user.getEmail(), user.getPhone()));
+    }
+
+    @EventListener
+    public void onCarModelEvent(CarModelEvent event) {
+        if (event.getType() == CarModelEvent.Type.DELETED) {
+            write(() -> remove(key(MODEL, event.getCarModelId())));
+        } else {
+            write(() -> putModel(event.getCarModel()));
+        }
+    }
+
+    @EventListener
+    public void onCarUnitEvent(CarUnitEvent event) {
+        CarUnit unit = event.getCarUnit();
+        if (event.getType() == CarUnitEvent.Type.DELETED) {
+            write(() -> remove(key(UNIT, unit.getId())));
+        } else {
+            // Only the model id is read, which does not initialize a lazy model proxy
+            Long carModelId = unit.getCarModel() == null ? null : unit.getCarModel().getId();
+            write(() -> putUnit(unit.getId(), unit.getNumberPlate(), carModelId));
+        }
+    }
+
+    // Ranked hits of the given types (all types when empty), best first
+    public List<SearchHit> search(String query, Collection<String> types, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Doc, Double> scores = null;
+            for (String term : terms) {
+                Map<Doc, Double> termScores = new HashMap<>();
+                for (Map.Entry<String, Map<Doc, Double>> entry
+                        : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+                    double idf = Math.log(1 + (double) docs.size() / entry.getValue().size());
+                    double coverage = (double) term.length() / entry.getKey().length();
+                    for (Map.Entry<Doc, Double> posting : entry.getValue().entrySet()) {
+                        if (types == null || types.isEmpty() || types.contains(posting.getKey().type)) {
+                            termScores.merge(posting.getKey(), posting.getValue() * coverage * idf, Math::max);
+                        }
+                    }
+                }
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((doc, score) -> score + termScores.get(doc));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return scores.entrySet().stream()
+                .sorted(Map.Entry.<Doc, Double>comparingByValue().reversed()
+                    .thenComparing(entry -> entry.getKey().title))
+                .limit(limit)
+                .map(entry -> toHit(entry.getKey(), entry.getValue()))
+                .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private SearchHit toHit(Doc doc, double score) {
+        String subtitle = doc.subtitle;
+        if (UNIT.equals(doc.type) && doc.carModelId != null) {
+            Doc model = docs.get(key(MODEL, doc.carModelId));
+            subtitle = model == null ? null : model.title;
+        }
+        return new SearchHit(doc.type, doc.id, doc.title, subtitle, Math.round(score * 1000) / 1000.0);
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putUser(Long id, String name, String email, String phone) {
+        Doc doc = new Doc(USER, id, name, email, null);
+        index(doc, name, 3.0);
+        index(doc, email, 2.0);
+        // Digits from each group onwards, so "+91 99887-76655" is found by 9199..., 99887... or 76655
+        List<String> groups = tokenize(phone);
+        for (int i = 0; i < groups.size(); i++) {
+            indexToken(doc, String.join("", groups.subList(i, groups.size())), 1.0);
+        }
+        replace(doc);
+    }
+
+    private void putModel(CarModel model) {
+        Doc doc = new Doc(MODEL, model.getId(), model.getName(), model.getType(), null);
+        index(doc, model.getName(), 3.0);
+        index(doc, model.getType(), 1.5);
+        replace(doc);
+    }
+
+    private void putUnit(Long id, String numberPlate, Long carModelId) {
+        String plate = PlateSearchIndex.normalize(numberPlate);
+        Doc doc = new Doc(UNIT, id, numberPlate, null, carModelId);
+        indexToken(doc, plate.toLowerCase(), 3.0);
+        replace(doc);
+    }
+
+    private void index(Doc doc, String text, double weight) {
+        for (String token : tokenize(text)) {
+            indexToken(doc, token, weight);
+        }
+    }
+
+    // Collects a token on the doc; replace() publishes the doc's tokens to the postings
+    private void indexToken(Doc doc, String token, double weight) {
+        if (!token.isEmpty()) {
+            doc.tokens.merge(token, weight, Math::max);
+        }
+    }
+
+    private void replace(Doc doc) {
+        if (doc.id == null) {
+            return;
+        }
+        String key = key(doc.type, doc.id);
+        remove(key);
+        docs.put(key, doc);
+        doc.tokens.forEach((token, weight) -> postings.computeIfAbsent(token, t -> new HashMap<>()).put(doc, weight));
+    }
+
+    private void remove(String key) {
+        Doc previous = docs.remove(key);
+        if (previous == null) {
+            return;
+        }
+        for (String token : previous.tokens.keySet()) {
+            Map<Doc, Double> posting = postings.get(token);
+            if (posting != null) {
+                posting.remove(previous);
+                if (posting.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    private static String key(String type, Long id) {
+        return type + ":" + id;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Identity-keyed: a re-indexed entity gets a new Doc and the old one is removed
+    private static class Doc {
+        final String type;
+        final Long id;
+        final String title;
+        final String subtitle;
+        final Long carModelId;
+        final Map<String, Double> tokens = new HashMap<>();
+
+        Doc(String type, Long id, String title, String subtitle, Long carModelId) {
+            this.type = type;
+            this.id = id;
+            this.title = title == null ? "" : title;
+            this.subtitle = subtitle;
+            this.carModelId = carModelId;
+        }
+    }
+}
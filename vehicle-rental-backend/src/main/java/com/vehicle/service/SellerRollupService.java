@@ -0,0 +1,281 @@
+package com.vehicle.service;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vehicle.dto.SellerStats;
+import com.vehicle.dto.SellerStatsRow;
+import com.vehicle.event.BookingEvent;
+import com.vehicle.model.Booking;
+import com.vehicle.repository.BookingRepository;
+import com.vehicle.repository.CarUnitRepository;
+import com.vehicle.repository.SellerDailyRollupRepository;
+
+// Daily booked days and revenue per car unit for seller-owned units, so the seller stats
+// never scan bookings. A booking counts on each day it is charged for: start up to the day
+// before the end date, or just the start day for a same-day booking, with the total cost
+// spread evenly over those days. Rows move with every booking in the booking's own
+// transaction; backfill rebuilds a date range from the bookings table.
+@Service
+public class SellerRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(SellerRollupService.class);
+
+    private static final String INSERT = "INSERT INTO seller_daily_rollups " +
+        "(seller_id, car_model_id, car_unit_id, rollup_date, booked_days, revenue) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private SellerDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CarUnitRepository carUnitRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${vroom.rollup.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${vroom.rollup.reconcile-days:31}")
+    private int reconcileDays;
+
+    @Value("${vroom.rollup.max-range-days:366}")
+    private int maxRangeDays;
+
+    // Rebuilds everything when the table is new, e.g. on the first start after an upgrade
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (!backfillOnStartup || rollupRepository.count() > 0) {
+            return;
+        }
+        List<Object[]> bounds = bookingRepository.findBookedDateBounds();
+        if (bounds.isEmpty() || bounds.get(0)[0] == null) {
+            return;
+        }
+        int rows = backfill((LocalDate) bounds.get(0)[0], (LocalDate) bounds.get(0)[1]);
+        log.info("Seller rollups backfilled: {} rows", rows);
+    }
+
+    // Nightly by default; rebuilds recent and future days in case an event was ever lost
+    // or applied twice, since the incremental updates cannot tell a repeated event apart
+    @Scheduled(cron = "${vroom.rollup.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        List<Object[]> bounds = bookingRepository.findBookedDateBounds();
+        LocalDate from = LocalDate.now().minusDays(reconcileDays);
+        // Out to the last booked day or the last rolled-up day, whichever is later, so rows
+        // left behind by a booking that no longer exists are cleared too
+        LocalDate to = later(from, bounds.isEmpty() ? null : (LocalDate) bounds.get(0)[1]);
+        to = later(to, rollupRepository.findLatestRollupDate());
+        backfill(from, to);
+    }
+
+    // Replaces the rows for [from, to] with totals recomputed from bookings; returns the rows
+    // written. Bookings committed while this runs are counted once either way. A booking that
+    // races the rebuild for the same unit and day adds to the rebuilt row (see addDay); the
+    // rebuild itself fails on the unique key if the booking's row lands first, and can be rerun.
+    public int backfill(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new RuntimeException("Invalid backfill range");
+        }
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.update("DELETE FROM seller_daily_rollups WHERE rollup_date BETWEEN ? AND ?",
+                Date.valueOf(from), Date.valueOf(to));
+
+            Map<String, Object[]> rows = new LinkedHashMap<>();
+            for (Object[] source : bookingRepository.findRollupSourcesBetween(from, to)) {
+                LocalDate start = (LocalDate) source[3];
+                LocalDate last = lastChargedDay(start, (LocalDate) source[4]);
+                double perDay = ((Number) source[5]).doubleValue() / (ChronoUnit.DAYS.between(start, last) + 1);
+                LocalDate day = start.isBefore(from) ? from : start;
+                LocalDate until = last.isAfter(to) ? to : last;
+                for (; !day.isAfter(until); day = day.plusDays(1)) {
+                    Object[] row = rows.computeIfAbsent(source[0] + "/" + day,
+                        k -> new Object[] {source[2], source[1], source[0], null, 0, 0.0});
+                    row[3] = day;
+                    row[4] = (Integer) row[4] + 1;
+                    row[5] = (Double) row[5] + perDay;
+                }
+            }
+            insert(new ArrayList<>(rows.values()));
+            return rows.size();
+        });
+    }
+
+    // Before commit, so the rollups change in the same transaction as the booking
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onBookingEvent(BookingEvent event) {
+        Booking booking = event.getBooking();
+        List<Object[]> owner = carUnitRepository.findModelAndSellerById(booking.getCarUnit().getId());
+        if (owner.isEmpty() || owner.get(0)[1] == null) {
+            return; // only seller-owned units are rolled up
+        }
+        boolean created = event.getType() == BookingEvent.Type.CREATED;
+        LocalDate start = booking.getStartDate();
+        LocalDate last = lastChargedDay(start, booking.getEndDate());
+        int days = (int) ChronoUnit.DAYS.between(start, last) + 1;
+        double perDay = booking.getTotalCost() / days;
+        Long unitId = booking.getCarUnit().getId();
+
+        // One statement for the days that already have a row, then an insert per missing day
+        int updated = jdbcTemplate.update("UPDATE seller_daily_rollups SET booked_days = booked_days + ?, " +
+                "revenue = revenue + ? WHERE car_unit_id = ? AND rollup_date BETWEEN ? AND ?",
+            created ? 1 : -1, created ? perDay : -perDay, unitId, Date.valueOf(start), Date.valueOf(last));
+        if (updated == days || !created) {
+            return;
+        }
+        Set<LocalDate> existing = new HashSet<>(jdbcTemplate.queryForList(
+            "SELECT rollup_date FROM seller_daily_rollups WHERE car_unit_id = ? AND rollup_date BETWEEN ? AND ?",
+            LocalDate.class, unitId, Date.valueOf(start), Date.valueOf(last)));
+        for (LocalDate day = start; !day.isAfter(last); day = day.plusDays(1)) {
+            if (!existing.contains(day)) {
+                addDay((Long) owner.get(0)[1], (Long) owner.get(0)[0], unitId, day, perDay);
+            }
+        }
+    }
+
+    // Inserts one booked day, or adds to the row if a concurrent backfill created it first.
+    // A failed insert would otherwise roll back the booking it belongs to.
+    void addDay(Long sellerId, Long carModelId, Long carUnitId, LocalDate day, double revenue) {
+        try {
+            jdbcTemplate.update(INSERT, sellerId, carModelId, carUnitId, Date.valueOf(day), 1, revenue);
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update("UPDATE seller_daily_rollups SET booked_days = booked_days + 1, revenue = revenue + ? " +
+                "WHERE car_unit_id = ? AND rollup_date = ?", revenue, carUnitId, Date.valueOf(day));
+        }
+    }
+
+    // groupBy is day, model or unit; every day, model or unit is listed even when idle
+    public SellerStats getStats(Long sellerId, LocalDate from, LocalDate to, String groupBy) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new RuntimeException("Invalid date range");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > maxRangeDays) {
+            throw new RuntimeException("Date range can cover at most " + maxRangeDays + " days");
+        }
+        String grouping = groupBy == null ? "day" : groupBy.toLowerCase();
+
+        // [carUnitId, numberPlate, carModelId, model name]
+        List<Object[]> units = carUnitRepository.findSellerUnits(sellerId);
+        Map<String, String> labels = new LinkedHashMap<>();
+        Map<String, Long> capacity = new HashMap<>();
+        List<Object[]> sums;
+        switch (grouping) {
+            case "day":
+                for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                    labels.put(day.toString(), day.toString());
+                    capacity.put(day.toString(), (long) units.size());
+                }
+                sums = rollupRepository.sumByDay(sellerId, from, to);
+                break;
+            case "model":
+                for (Object[] unit : units) {
+                    labels.put(String.valueOf(unit[2]), (String) unit[3]);
+                    capacity.merge(String.valueOf(unit[2]), days, Long::sum);
+                }
+                sums = rollupRepository.sumByModel(sellerId, from, to);
+                break;
+            case "unit":
+                for (Object[] unit : units) {
+                    labels.put(String.valueOf(unit[0]), (String) unit[1]);
+                    capacity.put(String.valueOf(unit[0]), days);
+                }
+                sums = rollupRepository.sumByUnit(sellerId, from, to);
+                break;
+            default:
+                throw new RuntimeException("groupBy must be day, model or unit");
+        }
+
+        Map<String, Object[]> totals = new HashMap<>();
+        for (Object[] sum : sums) {
+            String key = String.valueOf(sum[0]);
+            totals.put(key, sum);
+            // Units sold or moved since keep their history under their own key
+            labels.putIfAbsent(key, null);
+        }
+
+        List<SellerStatsRow> rows = new ArrayList<>(labels.size());
+        long bookedDays = 0;
+        double revenue = 0;
+        for (Map.Entry<String, String> entry : labels.entrySet()) {
+            Object[] sum = totals.get(entry.getKey());
+            long booked = sum == null ? 0 : ((Number) sum[1]).longValue();
+            double earned = sum == null ? 0 : ((Number) sum[2]).doubleValue();
+            rows.add(new SellerStatsRow(entry.getKey(), entry.getValue(), booked, round(earned),
+                utilization(booked, capacity.getOrDefault(entry.getKey(), 0L))));
+            bookedDays += booked;
+            revenue += earned;
+        }
+
+        SellerStats stats = new SellerStats();
+        stats.setFrom(from);
+        stats.setTo(to);
+        stats.setGroupBy(grouping);
+        stats.setUnits(units.size());
+        stats.setBookedDays(bookedDays);
+        stats.setRevenue(round(revenue));
+        stats.setUtilization(utilization(bookedDays, units.size() * days));
+        stats.setRows(rows);
+        return stats;
+    }
+
+    private void insert(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, rows, 500, (PreparedStatement ps, Object[] row) -> {
+            ps.setLong(1, (Long) row[0]);
+            ps.setLong(2, (Long) row[1]);
+            ps.setLong(3, (Long) row[2]);
+            ps.setDate(4, Date.valueOf((LocalDate) row[3]));
+            ps.setInt(5, (Integer) row[4]);
+            ps.setDouble(6, (Double) row[5]);
+        });
+    }
+
+    // Same rule as the booking price: the end date is not charged unless it is also the start
+    static LocalDate lastChargedDay(LocalDate start, LocalDate end) {
+        return end.isAfter(start) ? end.minusDays(1) : start;
+    }
+
+    private static LocalDate later(LocalDate date, LocalDate other) {
+        return other != null && other.isAfter(date) ? other : date;
+    }
+
+        private static double utilization(long bookedDays, long unitDays) {
+        return unitDays == 0 ? 0 : round(100.0 * bookedDays / unitDays);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -1,12 +1,18 @@
 package com.vehicle.service;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
-import com.vehicle.model.Booking;
+import com.vehicle.dto.BookingView;
+import com.vehicle.dto.SellerStats;
+import com.vehicle.event.CarModelEvent;
+import com.vehicle.event.CarUnitEvent;
 import com.vehicle.model.CarModel;
 import com.vehicle.model.CarUnit;
 import com.vehicle.repository.BookingRepository;
@@ -24,18 +30,38 @@ public class SellerService {
     
     @Autowired
     private BookingRepository bookingRepository;
+
+    @Autowired
+    private CarModelCatalog carModelCatalog;
+
+    @Autowired
+    private UniquenessFilter uniquenessFilter;
+
+    @Autowired
+    private SellerRollupService sellerRollupService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
     public List<CarModel> getSellerVehicles(Long sellerId) {
-        return carModelRepository.findBySellerId(sellerId);
+        return carModelCatalog.getBySellerId(sellerId);
+    }
+    
+    public List<BookingView> getSellerBookings(Long sellerId) {
+        return bookingRepository.findViewsBySellerId(sellerId);
     }
     
-    public List<Booking> getSellerBookings(Long sellerId) {
-        return bookingRepository.findBySellerIdWithDetails(sellerId);
+    // Booked days, revenue and utilization from the daily rollups
+    public SellerStats getSellerStats(Long sellerId, LocalDate from, LocalDate to, String groupBy) {
+        return sellerRollupService.getStats(sellerId, from, to, groupBy);
     }
     
     public CarModel addVehicle(CarModel carModel, Long sellerId) {
         carModel.setSellerId(sellerId);
-        return carModelRepository.save(carModel);
+        CarModel saved = carModelRepository.save(carModel);
+        carModelCatalog.invalidate();
+        eventPublisher.publishEvent(CarModelEvent.saved(saved));
+        return saved;
     }
     
     public CarUnit addVehicleUnit(Long carModelId, String numberPlate, Long sellerId) {
@@ -45,16 +71,33 @@ public class SellerService {
             throw new RuntimeException("Vehicle model not found or access denied");
         }
         
+        // Stored as upper-case letters and digits, like the admin-added units
+        String plate = PlateSearchIndex.normalize(numberPlate);
+        if (plate.isEmpty()) {
+            throw new RuntimeException("Number plate is required");
+        }
+
         // Check if number plate already exists
-        if (carUnitRepository.findByNumberPlate(numberPlate).isPresent()) {
+        if (uniquenessFilter.plateExists(plate)) {
             throw new RuntimeException("Vehicle with this number plate already exists");
         }
         
         CarUnit unit = new CarUnit();
-        unit.setNumberPlate(numberPlate.toUpperCase());
+        unit.setNumberPlate(plate);
         unit.setAvailable(true);
         unit.setCarModel(carModel.get());
         
-        return carUnitRepository.save(unit);
+        CarUnit saved;
+        try {
+            saved = carUnitRepository.save(unit);
+        } catch (DataIntegrityViolationException e) {
+            // Plate taken meanwhile, possibly on another node the filter here has not heard of
+            if (!carUnitRepository.findIdsByNormalizedPlate(plate).isEmpty()) {
+                throw new RuntimeException("Vehicle with this number plate already exists");
+            }
+            throw e;
+        }
+        eventPublisher.publishEvent(CarUnitEvent.saved(saved));
+        return saved;
     }
 }
\ No newline at end of file
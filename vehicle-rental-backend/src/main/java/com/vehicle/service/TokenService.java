@@ -0,0 +1,90 @@
+package com.vehicle.service;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Service;
+
+import com.vehicle.model.User;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+// Signed (HS256) access tokens carrying just enough of the user to authorize a request:
+// id, name, email, role and status. Verifying one needs only the shared secret, so any
+// node can serve any request without a session store. Claims are trusted until the token
+// expires, except that writes and admin requests re-read role and status from the database
+// (see TokenAuthenticationFilter), so keep the TTL short.
+@Service
+public class TokenService {
+
+    public static final String COOKIE_NAME = "VROOM_TOKEN";
+
+    private final Key key;
+    private final JwtParser parser;
+    private final Duration ttl;
+
+    public TokenService(Environment environment,
+                        @Value("${vroom.auth.jwt.secret:}") String secret,
+                        @Value("${vroom.auth.jwt.ttl-minutes:60}") long ttlMinutes) {
+        if (secret == null || secret.isBlank()) {
+            // Only the dev profile may run without a shared secret; tokens then stop working
+            // on restart and across nodes
+            if (!environment.acceptsProfiles(Profiles.of("dev"))) {
+                throw new IllegalStateException("vroom.auth.jwt.secret (VROOM_JWT_SECRET) must be set");
+            }
+            this.key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        } else {
+            this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        }
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    public String issue(User user) {
+        Date now = new Date();
+        return Jwts.builder()
+            .setSubject(String.valueOf(user.getId()))
+            .claim("name", user.getName())
+            .claim("email", user.getEmail())
+            .claim("role", user.getRole())
+            .claim("status", user.getStatus())
+            .setIssuedAt(now)
+            .setExpiration(new Date(now.getTime() + ttl.toMillis()))
+            .signWith(key, SignatureAlgorithm.HS256)
+            .compact();
+    }
+
+    // The user described by a valid token; not a managed entity, only the claimed fields are set
+    public Optional<User> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            User user = new User();
+            user.setId(Long.valueOf(claims.getSubject()));
+            user.setName(claims.get("name", String.class));
+            user.setEmail(claims.get("email", String.class));
+            user.setRole(claims.get("role", String.class));
+            user.setStatus(claims.get("status", String.class));
+            return Optional.of(user);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+}
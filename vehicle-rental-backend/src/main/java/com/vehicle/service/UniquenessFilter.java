@@ -0,0 +1,200 @@
+package com.vehicle.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.vehicle.event.CarUnitEvent;
+import com.vehicle.event.UserEvent;
+import com.vehicle.repository.CarUnitRepository;
+import com.vehicle.repository.UserRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Bloom filters over registered emails and number plates. A key the filter has never seen
+// cannot be in the database, so the existence query is skipped; anything else still asks
+// the database. Removals are not tracked (a stale entry only costs a query). The filters are
+// per node, so a key written on another node can be missed here: the unique constraints on
+// users.email and car_units.number_plate remain the final word, and a violation is reported
+// with the same "already exists" error as the pre-check.
+@Service
+public class UniquenessFilter {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CarUnitRepository carUnitRepository;
+
+    private final Bloom emails;
+    private final Bloom plates;
+
+    private volatile boolean ready = false;
+
+    public UniquenessFilter(MeterRegistry meterRegistry,
+                            @Value("${vroom.uniqueness.expected-keys:100000}") int expectedKeys,
+                            @Value("${vroom.uniqueness.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.emails = new Bloom(expectedKeys, falsePositiveRate);
+        this.plates = new Bloom(expectedKeys, falsePositiveRate);
+        register(meterRegistry, "email", emails);
+        register(meterRegistry, "plate", plates);
+    }
+
+    private static void register(MeterRegistry meterRegistry, String key, Bloom bloom) {
+        FunctionCounter.builder("vroom.uniqueness.checks", bloom, b -> b.skipped.sum())
+            .tag("key", key).tag("result", "skipped").register(meterRegistry);
+        FunctionCounter.builder("vroom.uniqueness.checks", bloom, b -> b.falsePositives.sum())
+            .tag("key", key).tag("result", "false-positive").register(meterRegistry);
+        FunctionCounter.builder("vroom.uniqueness.checks", bloom, b -> b.duplicates.sum())
+            .tag("key", key).tag("result", "duplicate").register(meterRegistry);
+        // Share of absent keys that still went to the database
+        Gauge.builder("vroom.uniqueness.false-positive-rate", bloom, Bloom::observedFalsePositiveRate)
+            .tag("key", key).register(meterRegistry);
+        // What the current fill level predicts, for sizing expected-keys
+        Gauge.builder("vroom.uniqueness.expected-false-positive-rate", bloom, Bloom::expectedFalsePositiveRate)
+            .tag("key", key).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (String email : userRepository.findAllEmails()) {
+            emails.add(normalizeEmail(email));
+        }
+        for (Object[] row : carUnitRepository.findAllNumberPlates()) {
+            plates.add(PlateSearchIndex.normalize((String) row[1]));
+        }
+        ready = true;
+    }
+
+    public boolean emailExists(String email) {
+        if (email == null) {
+            return false;
+        }
+        return check(emails, normalizeEmail(email), key -> userRepository.existsByEmail(email));
+    }
+
+    public boolean plateExists(String numberPlate) {
+        if (numberPlate == null) {
+            return false;
+        }
+        return check(plates, PlateSearchIndex.normalize(numberPlate),
+            key -> !carUnitRepository.findIdsByNormalizedPlate(key).isEmpty());
+    }
+
+    @EventListener
+    public void onUserEvent(UserEvent event) {
+        if (event.getUser().getEmail() != null) {
+            emails.add(normalizeEmail(event.getUser().getEmail()));
+        }
+    }
+
+    @EventListener
+    public void onCarUnitEvent(CarUnitEvent event) {
+        if (event.getType() == CarUnitEvent.Type.SAVED && event.getCarUnit().getNumberPlate() != null) {
+            plates.add(PlateSearchIndex.normalize(event.getCarUnit().getNumberPlate()));
+        }
+    }
+
+    private boolean check(Bloom bloom, String key, Predicate<String> database) {
+        // Until the filters are loaded every check goes to the database
+        if (ready && !bloom.mightContain(key)) {
+            bloom.skipped.increment();
+            return false;
+        }
+        boolean exists = database.test(key);
+        if (ready) {
+            (exists ? bloom.duplicates : bloom.falsePositives).increment();
+        }
+        return exists;
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Bit array in an AtomicLongArray so concurrent adds never lose bits; k probes by
+    // double hashing over one 64-bit FNV-1a hash
+    static final class Bloom {
+
+        private final AtomicLongArray words;
+        private final long bits;
+        private final int hashes;
+
+        final LongAdder skipped = new LongAdder();
+        final LongAdder falsePositives = new LongAdder();
+        final LongAdder duplicates = new LongAdder();
+
+        Bloom(int expectedKeys, double falsePositiveRate) {
+            long n = Math.max(1, expectedKeys);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) ((m + 63) >>> 6));
+            this.bits = (long) words.length() << 6;
+            this.hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        }
+
+        void add(String key) {
+            long hash = hash(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bits);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current = words.get(word);
+                while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                    current = words.get(word);
+                }
+            }
+        }
+
+        boolean mightContain(String key) {
+            long hash = hash(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        double observedFalsePositiveRate() {
+            long fp = falsePositives.sum();
+            long negatives = fp + skipped.sum();
+            return negatives == 0 ? 0 : (double) fp / negatives;
+        }
+
+        double expectedFalsePositiveRate() {
+            long set = 0;
+            for (int i = 0; i < words.length(); i++) {
+                set += Long.bitCount(words.get(i));
+            }
+            return Math.pow((double) set / bits, hashes);
+        }
+
+        private static long hash(String key) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            // Final avalanche so both halves are usable as independent hashes
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
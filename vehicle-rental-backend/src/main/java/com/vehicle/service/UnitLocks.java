@@ -0,0 +1,43 @@
+package com.vehicle.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Striped per-unit locks: bookings for the same car unit are serialized while
+// bookings for different units almost always land on different stripes.
+@Component
+public class UnitLocks {
+
+    private final ReentrantLock[] stripes;
+
+    public UnitLocks(@Value("${vroom.booking.lock-stripes:1024}") int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public ReentrantLock forUnit(Long carUnitId) {
+        return stripes[stripeOf(carUnitId)];
+    }
+
+    // Distinct stripes for several units in stripe order, so multi-unit callers cannot deadlock
+    public List<ReentrantLock> forUnits(Collection<Long> carUnitIds) {
+        return carUnitIds.stream()
+            .mapToInt(this::stripeOf)
+            .distinct()
+            .sorted()
+            .mapToObj(i -> stripes[i])
+            .toList();
+    }
+
+    private int stripeOf(Long carUnitId) {
+        long h = carUnitId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (stripes.length - 1);
+    }
+}
@@ -1,16 +1,29 @@
 package com.vehicle.service;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import com.vehicle.dto.BookingHold;
 import com.vehicle.dto.BookingRequest;
+import com.vehicle.dto.BookingView;
+import com.vehicle.dto.CatalogResult;
+import com.vehicle.dto.ModelAvailability;
+import com.vehicle.dto.ModelCalendar;
+import com.vehicle.dto.SearchHit;
+import com.vehicle.event.UserEvent;
 import com.vehicle.model.Booking;
 import com.vehicle.model.CarModel;
 import com.vehicle.model.CarUnit;
@@ -36,7 +49,31 @@ public class UserService {
     private BookingRepository bookingRepository;
 
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private UniquenessFilter uniquenessFilter;
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private AvailabilityCalendar availabilityCalendar;
+
+    @Autowired
+    private BookingHoldService bookingHoldService;
+
+    @Autowired
+    private CarModelCatalog carModelCatalog;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public Optional<User> getUserByEmail(String email) {
         return userRepository.findByEmail(email);
@@ -47,57 +84,134 @@ public class UserService {
     }
     
     public User registerUser(User user) {
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        if (uniquenessFilter.emailExists(user.getEmail())) {
+            throw new RuntimeException("An account with this email already exists");
+        }
+        user.setPassword(passwordHasher.encode(user.getPassword()));
+        User saved;
+        try {
+            saved = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Registered meanwhile, possibly on another node the filter here has not heard of
+            if (userRepository.existsByEmail(user.getEmail())) {
+                throw new RuntimeException("An account with this email already exists");
+            }
+            throw e;
+        }
+        eventPublisher.publishEvent(UserEvent.registered(saved));
+        return saved;
     }
     
     public Optional<User> authenticateUser(String email, String password) {
         Optional<User> user = userRepository.findByEmail(email);
-        if (user.isPresent() && passwordEncoder.matches(password, user.get().getPassword())) {
+        if (user.isPresent() && passwordHasher.matches(password, user.get().getPassword())) {
+            // Hashes made before a work factor increase are replaced on the next successful login
+            if (passwordHasher.needsRehash(user.get().getPassword())) {
+                try {
+                    user.get().setPassword(passwordHasher.encode(password));
+                    userRepository.save(user.get());
+                } catch (RejectedExecutionException e) {
+                    // Hasher is busy; the old hash still works, so upgrade on a later login
+                }
+            }
             return user;
         }
         throw new RuntimeException("Invalid credentials");
     }
 
     public List<CarModel> getAllCarModels() {
-        return carModelRepository.findAll();
+        return carModelCatalog.getAll();
     }
 
-    public List<CarUnit> getAvailableUnits(Long carModelId, LocalDate startDate, LocalDate endDate) {
-        List<CarUnit> allUnits = carUnitRepository.findByCarModelIdAndAvailable(carModelId, true);
-        
-        return allUnits.stream()
-            .filter(unit -> isUnitAvailable(unit.getId(), startDate, endDate))
-            .collect(Collectors.toList());
+    public CatalogResult queryCatalog(List<String> types, Long sellerId, Double minRate, Double maxRate,
+                                      String rateBucket, String sort, String direction) {
+        return carModelCatalog.query(types, sellerId, minRate, maxRate, rateBucket, sort, direction);
     }
 
-    private boolean isUnitAvailable(Long carUnitId, LocalDate startDate, LocalDate endDate) {
-        List<Booking> conflictingBookings = bookingRepository.findConflictingBookings(
-            carUnitId, startDate, endDate
-        );
-        return conflictingBookings.isEmpty();
+    // Typeahead over model names and types, best match first
+    public List<CarModel> searchCarModels(String query, int limit) {
+        if (!searchIndex.isReady()) {
+            throw new RuntimeException("Search is not available yet, please retry shortly");
+        }
+        List<CarModel> models = new ArrayList<>();
+        for (SearchHit hit : searchIndex.search(query, List.of(SearchIndex.MODEL), limit)) {
+            carModelCatalog.getById(hit.getId()).ifPresent(models::add);
+        }
+        return models;
     }
 
-    public Booking createBooking(User user, BookingRequest request) {
-        CarUnit carUnit = carUnitRepository.findById(request.getCarUnitId())
-            .orElseThrow(() -> new RuntimeException("Car unit not found"));
+    public List<CarUnit> getAvailableUnits(Long carModelId, LocalDate startDate, LocalDate endDate, User user) {
+        List<CarUnit> units;
+        if (availabilityIndex.isReady(startDate)) {
+            units = carUnitRepository.findAvailableByCarModelIdWithModel(carModelId).stream()
+                .filter(unit -> availabilityIndex.isAvailable(unit.getId(), startDate, endDate))
+                .collect(Collectors.toList());
+        } else {
+            units = carUnitRepository.findAvailableUnitsForPeriod(carModelId, startDate, endDate);
+        }
+        // Units on hold for someone else are not offered; the caller still sees their own holds
+        Long userId = user != null ? user.getId() : null;
+        units.removeIf(unit -> bookingHoldService.isHeld(unit.getId(), startDate, endDate, userId));
+        return units;
+    }
 
-        if (!isUnitAvailable(request.getCarUnitId(), request.getStartDate(), request.getEndDate())) {
-            throw new RuntimeException("Car unit is not available for the selected dates");
+    // Every matching model with its free unit count for the period, in two queries
+    public List<ModelAvailability> getFleetAvailability(LocalDate startDate, LocalDate endDate,
+                                                        String type, Double minRate, Double maxRate) {
+        double min = minRate != null ? minRate : 0.0;
+        double max = maxRate != null ? maxRate : Double.MAX_VALUE;
+        List<CarModel> models = (type == null || type.isBlank())
+            ? carModelRepository.findByPerDayRateBetween(min, max)
+            : carModelRepository.findByTypeAndPerDayRateBetween(type, min, max);
+        if (models.isEmpty()) {
+            return List.of();
         }
 
-        // Calculate total cost (daily rate * number of days)
-        long days = ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate());
-        if (days <= 0) {
-            days = 1; // Minimum 1 day
+        // Held units are still free in the database, so the query leaves them out
+        Set<Long> heldUnitIds = new HashSet<>();
+        for (BookingHold hold : bookingHoldService.getActiveHolds(startDate, endDate)) {
+            heldUnitIds.add(hold.getCarUnitId());
         }
-        double totalCost = carUnit.getCarModel().getPerDayRate() * days;
 
-        Booking booking = new Booking(user, carUnit, request.getStartDate(), request.getEndDate(), totalCost);
-        return bookingRepository.save(booking);
+        List<Long> modelIds = models.stream().map(CarModel::getId).collect(Collectors.toList());
+        Map<Long, Object[]> counts = new HashMap<>();
+        for (Object[] row : carUnitRepository.countAvailableUnitsByModel(modelIds, startDate, endDate, heldUnitIds)) {
+            counts.put((Long) row[0], row);
+        }
+
+        return models.stream()
+            .map(model -> {
+                Object[] row = counts.get(model.getId());
+                if (row == null) {
+                    return new ModelAvailability(model, 0, null);
+                }
+                return new ModelAvailability(model, (Long) row[1], (Long) row[2]);
+            })
+            .collect(Collectors.toList());
+    }
+
+    public ModelCalendar getModelCalendar(Long carModelId, LocalDate startDate, int days) {
+        return availabilityCalendar.getModelCalendar(carModelId, startDate, days);
+    }
+
+    public BookingHold placeHold(User user, BookingRequest request) {
+        return bookingHoldService.placeHold(user.getId(), request.getCarUnitId(),
+            request.getStartDate(), request.getEndDate());
+    }
+
+    public void releaseHold(User user, String holdId) {
+        bookingHoldService.releaseHold(holdId, user.getId());
+    }
+
+    public Booking createBooking(User user, BookingRequest request) {
+        return bookingService.createBooking(user, request);
+    }
+
+    public List<Booking> createBookings(User user, List<BookingRequest> requests) {
+        return bookingService.createBookings(user, requests);
     }
 
-    public List<Booking> getUserBookings(Long userId) {
-        return bookingRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    public List<BookingView> getUserBookings(Long userId) {
+        return bookingRepository.findViewsByUserId(userId);
     }
 }
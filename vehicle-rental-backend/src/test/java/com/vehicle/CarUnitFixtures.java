@@ -0,0 +1,38 @@
+package com.vehicle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.vehicle.model.CarModel;
+import com.vehicle.model.CarUnit;
+import com.vehicle.repository.CarUnitRepository;
+
+// Available car units saved straight through the repository, as tests seed them. Skips the
+// service layer on purpose: no plate normalization, no events, no index updates, which is
+// also how a write made on another node looks to this one.
+@Component
+public class CarUnitFixtures {
+
+    @Autowired
+    private CarUnitRepository carUnitRepository;
+
+    public CarUnit save(String numberPlate, CarModel model) {
+        CarUnit unit = new CarUnit();
+        unit.setNumberPlate(numberPlate);
+        unit.setAvailable(true);
+        unit.setCarModel(model);
+        return carUnitRepository.save(unit);
+    }
+
+    // Plates platePrefix + first, platePrefix + (first + 1), ...
+    public List<CarUnit> saveAll(String platePrefix, int first, int count, CarModel model) {
+        List<CarUnit> units = new ArrayList<>();
+        for (int i = first; i < first + count; i++) {
+            units.add(save(platePrefix + i, model));
+        }
+        return units;
+    }
+}
@@ -0,0 +1,57 @@
+package com.vehicle.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+class CompressionThresholdFilterTest {
+
+    private static CompressionThresholdFilter filter() {
+        CompressionThresholdFilter filter = new CompressionThresholdFilter();
+        ReflectionTestUtils.setField(filter, "minResponseSize", DataSize.ofBytes(1024));
+        return filter;
+    }
+
+    private static MockHttpServletRequest gzipRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/admin/bookings");
+        request.addHeader("Accept-Encoding", "gzip");
+        return request;
+    }
+
+    @Test
+    void smallBodiesAreHeldBackAndSentWithTheirLength() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter().doFilter(gzipRequest(), response, (req, res) -> {
+            res.getOutputStream().write(new byte[100]);
+            res.flushBuffer();
+            // Nothing reaches the client yet, so the length can still be set
+            assertEquals(0, response.getContentAsByteArray().length);
+        });
+        assertEquals(100, response.getContentLength());
+        assertEquals(100, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void largeBodiesStreamThroughOncePastTheThreshold() throws Exception {
+        byte[] chunk = new byte[600];
+        Arrays.fill(chunk, (byte) 'x');
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter().doFilter(gzipRequest(), response, (req, res) -> {
+            res.getOutputStream().write(chunk);
+            assertEquals(0, response.getContentAsByteArray().length);
+            res.getOutputStream().write(chunk);
+            // Past the threshold the held-back part and every later write go straight out
+            assertEquals(1200, response.getContentAsByteArray().length);
+            res.getOutputStream().write(chunk);
+            assertEquals(1800, response.getContentAsByteArray().length);
+        });
+        assertEquals(0, response.getContentLength());
+        assertEquals(1800, response.getContentAsByteArray().length);
+    }
+}
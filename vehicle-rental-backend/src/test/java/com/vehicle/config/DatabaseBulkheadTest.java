@@ -0,0 +1,46 @@
+package com.vehicle.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+class DatabaseBulkheadTest {
+
+    private static DatabaseBulkhead bulkhead(int permits, long timeoutMs) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:bulkhead;DB_CLOSE_DELAY=-1");
+        return new DatabaseBulkhead(h2, permits, timeoutMs);
+    }
+
+    @Test
+    void connectionsBeyondThePermitsTimeOut() throws Exception {
+        DatabaseBulkhead bulkhead = bulkhead(2, 50);
+        Connection first = bulkhead.getConnection();
+        Connection second = bulkhead.getConnection();
+        assertEquals(0, bulkhead.getAvailablePermits());
+
+        assertThrows(SQLTransientConnectionException.class, bulkhead::getConnection);
+        assertEquals(1, bulkhead.getRejected());
+
+        first.close();
+        try (Connection third = bulkhead.getConnection()) {
+            assertEquals(0, bulkhead.getAvailablePermits());
+        }
+        second.close();
+        assertEquals(2, bulkhead.getAvailablePermits());
+    }
+
+    @Test
+    void closingTwiceReleasesOnePermit() throws Exception {
+        DatabaseBulkhead bulkhead = bulkhead(1, 50);
+        Connection connection = bulkhead.getConnection();
+        connection.close();
+        connection.close();
+        assertEquals(1, bulkhead.getAvailablePermits());
+    }
+}
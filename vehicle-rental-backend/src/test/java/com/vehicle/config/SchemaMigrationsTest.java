@@ -0,0 +1,72 @@
+package com.vehicle.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.vehicle.CarUnitFixtures;
+import com.vehicle.model.CarModel;
+import com.vehicle.repository.CarModelRepository;
+import com.vehicle.repository.CarUnitRepository;
+
+@SpringBootTest
+class SchemaMigrationsTest {
+
+    @Autowired
+    private SchemaMigrations schemaMigrations;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private CarUnitRepository carUnitRepository;
+
+    @Autowired
+    private CarUnitFixtures carUnits;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void legacyPlatesAreNormalizedUnlessThatWouldCollide() {
+        CarModel model = carModelRepository.findAll().get(0);
+        Long separated = carUnits.save("MG-01 AA 0001", model).getId();
+        Long taken = carUnits.save("MG01AA0002", model).getId();
+        Long colliding = carUnits.save("mg-01 aa 0002", model).getId();
+
+        schemaMigrations.normalizePlates();
+        assertEquals("MG01AA0001", plate(separated));
+        assertEquals("MG01AA0002", plate(taken));
+        assertEquals("mg-01 aa 0002", plate(colliding));
+
+        // Nothing left to do the second time
+        schemaMigrations.normalizePlates();
+        assertEquals("MG01AA0001", plate(separated));
+    }
+
+    @Test
+    void plateIndexIsOnlyCreatedOverUniquePlates() {
+        jdbcTemplate.execute("DROP INDEX uk_car_units_number_plate");
+        CarModel model = carModelRepository.findAll().get(0);
+        Long first = carUnits.save("MG02AA0001", model).getId();
+        Long second = carUnits.save("MG02AA0001", model).getId();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, schemaMigrations::createPlateIndex);
+        assertTrue(e.getMessage().contains("MG02AA0001"));
+
+        carUnitRepository.deleteById(second);
+        schemaMigrations.createPlateIndex();
+        assertThrows(DataIntegrityViolationException.class, () -> carUnits.save("MG02AA0001", model));
+        carUnitRepository.deleteById(first);
+    }
+
+    private String plate(Long id) {
+        return carUnitRepository.findById(id).orElseThrow().getNumberPlate();
+    }
+}
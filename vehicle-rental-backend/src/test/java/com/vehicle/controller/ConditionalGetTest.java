@@ -0,0 +1,147 @@
+package com.vehicle.controller;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.vehicle.dto.BookingRequest;
+import com.vehicle.model.Booking;
+import com.vehicle.model.CarModel;
+import com.vehicle.model.CarUnit;
+import com.vehicle.model.User;
+import com.vehicle.repository.BookingRepository;
+import com.vehicle.repository.CarUnitRepository;
+import com.vehicle.repository.UserRepository;
+import com.vehicle.service.AdminService;
+import com.vehicle.service.BookingService;
+import com.vehicle.service.CarModelCatalog;
+import com.vehicle.service.TokenService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CarUnitRepository carUnitRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CarModelCatalog carModelCatalog;
+
+    @Test
+    void catalogIsNotResentUntilItChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/users/car-models"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/users/car-models").header("If-None-Match", etag))
+            .andExpect(status().isNotModified());
+
+        adminService.addCarModel(new CarModel("ETag Model", "Coupe", null, 5000.0));
+
+        String changed = mockMvc.perform(get("/api/users/car-models").header("If-None-Match", etag))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, changed);
+    }
+
+    @Test
+    void myBookingsChangeWithANewBooking() throws Exception {
+        User user = userRepository.findByEmail("john@example.com").orElseThrow();
+        String etag = mockMvc.perform(get("/api/users/my-bookings").header("Authorization", bearer(user)))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/users/my-bookings").header("Authorization", bearer(user)).header("If-None-Match", etag))
+            .andExpect(status().isNotModified());
+
+        Long unitId = carUnitRepository.findByNumberPlate("MH03EF3236").orElseThrow().getId();
+        LocalDate start = LocalDate.of(2036, 1, 5);
+        bookingService.createBooking(user, new BookingRequest(user.getId(), unitId, start, start.plusDays(1)));
+
+        mockMvc.perform(get("/api/users/my-bookings").header("Authorization", bearer(user)).header("If-None-Match", etag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void myBookingsChangeWithABookingMadeOnAnotherNode() throws Exception {
+        User user = userRepository.findByEmail("john@example.com").orElseThrow();
+        String etag = mockMvc.perform(get("/api/users/my-bookings").header("Authorization", bearer(user)))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+
+        // Written straight to the database, so no event reaches this node
+        CarUnit unit = carUnitRepository.findByNumberPlate("MH03EF3236").orElseThrow();
+        LocalDate start = LocalDate.of(2036, 3, 5);
+        bookingRepository.save(new Booking(user, unit, start, start.plusDays(1), 1000.0));
+
+        mockMvc.perform(get("/api/users/my-bookings").header("Authorization", bearer(user)).header("If-None-Match", etag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void catalogTagSurvivesAReloadOfTheSameModels() throws Exception {
+        String etag = mockMvc.perform(get("/api/users/car-models"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+
+        // As after a restart or on another node: same models, freshly loaded
+        carModelCatalog.invalidate();
+
+        mockMvc.perform(get("/api/users/car-models").header("If-None-Match", etag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void myBookingsChangeWhenABookedUnitIsEditedElsewhere() throws Exception {
+        User user = userRepository.findByEmail("john@example.com").orElseThrow();
+        CarUnit unit = carUnitRepository.findByNumberPlate("MH03EF3236").orElseThrow();
+        LocalDate start = LocalDate.of(2036, 6, 5);
+        bookingRepository.save(new Booking(user, unit, start, start.plusDays(1), 1000.0));
+        String etag = mockMvc.perform(get("/api/users/my-bookings").header("Authorization", bearer(user)))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+
+        unit.setAvailable(!unit.isAvailable());
+        carUnitRepository.save(unit);
+
+        try {
+            mockMvc.perform(get("/api/users/my-bookings").header("Authorization", bearer(user)).header("If-None-Match", etag))
+                .andExpect(status().isOk());
+        } finally {
+            unit.setAvailable(!unit.isAvailable());
+            carUnitRepository.save(unit);
+        }
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + tokenService.issue(user);
+    }
+}
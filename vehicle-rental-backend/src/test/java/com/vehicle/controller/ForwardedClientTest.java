@@ -0,0 +1,41 @@
+package com.vehicle.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+// Runs on a real port so Tomcat's forwarded-header handling is in play; the test client
+// connects from loopback, which counts as a trusted proxy
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "vroom.ratelimit.enabled=true",
+    "vroom.ratelimit.login.burst=2"
+})
+class ForwardedClientTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void clientsBehindTheProxyHaveTheirOwnLoginLimit() {
+        for (int i = 0; i < 2; i++) {
+            assertEquals(400, login("203.0.113.1"));
+        }
+        assertEquals(429, login("203.0.113.1"));
+        assertEquals(400, login("203.0.113.2"));
+    }
+
+    private int login(String forwardedFor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Forwarded-For", forwardedFor);
+        return restTemplate.postForEntity("/api/users/login",
+            new HttpEntity<>("{\"email\":\"john@example.com\",\"password\":\"wrong\"}", headers), String.class)
+            .getStatusCode().value();
+    }
+}
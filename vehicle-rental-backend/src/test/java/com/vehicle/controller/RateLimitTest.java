@@ -0,0 +1,59 @@
+package com.vehicle.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+@SpringBootTest(properties = {
+    "vroom.ratelimit.enabled=true",
+    "vroom.ratelimit.login.burst=2",
+    "vroom.ratelimit.search.rate-per-second=0.1",
+    "vroom.ratelimit.search.burst=3"
+})
+@AutoConfigureMockMvc
+class RateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private static MockHttpServletRequestBuilder from(MockHttpServletRequestBuilder request, String ip) {
+        return request.with(servletRequest -> {
+            servletRequest.setRemoteAddr(ip);
+            return servletRequest;
+        });
+    }
+
+    @Test
+    void loginAttemptsAreLimitedPerAddress() throws Exception {
+        String body = "{\"email\":\"john@example.com\",\"password\":\"wrong\"}";
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(from(post("/api/users/login"), "10.0.0.1").contentType("application/json").content(body))
+                .andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(from(post("/api/users/login"), "10.0.0.1").contentType("application/json").content(body))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().exists("Retry-After"));
+        mockMvc.perform(from(post("/api/users/login"), "10.0.0.2").contentType("application/json").content(body))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchIsLimitedButOtherEndpointsAreNot() throws Exception {
+        String path = "/api/users/car-models/search?q=suv";
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(from(get(path), "10.0.1.1")).andExpect(status().isOk());
+        }
+        mockMvc.perform(from(get(path), "10.0.1.1")).andExpect(status().isTooManyRequests());
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(from(get("/api/users/car-models"), "10.0.1.1")).andExpect(status().isOk());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.vehicle.controller;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.vehicle.CarUnitFixtures;
+import com.vehicle.model.CarModel;
+import com.vehicle.model.CarUnit;
+import com.vehicle.model.User;
+import com.vehicle.repository.CarModelRepository;
+import com.vehicle.repository.UserRepository;
+
+// Throughput and latency of booking and search under concurrent load. Not part of the
+// regular build; compare platform and virtual threads (the latter needs Java 21+) with:
+//   mvn test -Dtest=RequestThroughputLoadTest -Dloadtest=true
+//   mvn test -Dtest=RequestThroughputLoadTest -Dloadtest=true -Dspring.threads.virtual.enabled=true
+// Rate limits and load shedding are off so every request reaches the application.
+//
+// Platform threads, Java 17.0.9, 1 CPU, H2 in memory (two runs):
+//   booking  5000 requests  238-253 req/s  p50 712-735 ms  p99 3139-3454 ms  0 errors
+//   search   5000 requests  468-484 req/s  p50 164-226 ms  p99 1826-1962 ms  0 errors
+// The virtual-thread mode is untested: only Java 17 was available for that run, and on
+// Java 17 Spring Boot ignores spring.threads.virtual.enabled.
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {"vroom.ratelimit.enabled=false", "vroom.concurrency.enabled=false"})
+class RequestThroughputLoadTest {
+
+    private static final int CLIENTS = 200;
+    private static final int REQUESTS_PER_CLIENT = 25;
+    private static final int UNITS = 50;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private CarUnitFixtures carUnits;
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .executor(Executors.newFixedThreadPool(32))
+        .build();
+
+    @Test
+    void bookingAndSearch() throws Exception {
+        User user = userRepository.findByEmail("john@example.com").orElseThrow();
+        CarModel model = carModelRepository.save(new CarModel("Load Model", "SUV", null, 2500.0));
+        List<Long> unitIds = carUnits.saveAll("LD", 1000, UNITS, model).stream().map(CarUnit::getId).toList();
+
+        // Spring Boot only switches to virtual threads on Java 21+, whatever the property says
+        boolean virtual = virtualThreads && Runtime.version().feature() >= 21;
+        System.out.printf("java %s, %s threads%n", Runtime.version(), virtual ? "virtual" : "platform");
+        System.out.printf("%-10s %8s %10s %8s %8s %8s%n", "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "errors");
+
+        // Every booking gets its own unit/week so the run measures throughput, not conflicts
+        AtomicInteger sequence = new AtomicInteger();
+        run("booking", () -> {
+            int n = sequence.getAndIncrement();
+            LocalDate start = LocalDate.of(2060, 1, 1).plusWeeks(n / UNITS);
+            String body = "{\"carUnitId\":" + unitIds.get(n % UNITS) + ",\"startDate\":\"" + start
+                + "\",\"endDate\":\"" + start.plusDays(2) + "\"}";
+            return HttpRequest.newBuilder(uri("/api/users/" + user.getId() + "/bookings"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        });
+        run("search", () -> HttpRequest.newBuilder(
+                uri("/api/users/fleet-availability?startDate=2060-03-01&endDate=2060-03-05"))
+            .GET()
+            .build());
+    }
+
+    private void run(String name, RequestFactory requests) throws Exception {
+        int total = CLIENTS * REQUESTS_PER_CLIENT;
+        long[] latencies = new long[total];
+        AtomicInteger slot = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long started = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            futures.add(clients.submit(() -> {
+                for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                    long t0 = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(requests.next(), HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[slot.getAndIncrement()] = System.nanoTime() - t0;
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        clients.shutdown();
+
+        Arrays.sort(latencies);
+        System.out.printf("%-10s %8d %10.1f %8.1f %8.1f %8d%n", name, total, total / seconds,
+            latencies[total / 2] / 1e6, latencies[(int) (total * 0.99)] / 1e6, errors.get());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private interface RequestFactory {
+        HttpRequest next() throws Exception;
+    }
+}
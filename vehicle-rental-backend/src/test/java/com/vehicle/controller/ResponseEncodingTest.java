@@ -0,0 +1,150 @@
+package com.vehicle.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.vehicle.CarUnitFixtures;
+import com.vehicle.dto.BookingRequest;
+import com.vehicle.model.CarModel;
+import com.vehicle.model.CarUnit;
+import com.vehicle.model.User;
+import com.vehicle.repository.CarModelRepository;
+import com.vehicle.repository.CarUnitRepository;
+import com.vehicle.repository.UserRepository;
+import com.vehicle.service.BookingService;
+import com.vehicle.service.TokenService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ResponseEncodingTest {
+
+    private static final TypeReference<List<Map<String, Object>>> ROWS = new TypeReference<>() {};
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private CarUnitRepository carUnitRepository;
+
+    @Autowired
+    private CarUnitFixtures carUnits;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private Long carModelId;
+
+    @BeforeEach
+    void seedManyUnits() {
+        CarModel model = carModelRepository.findAll().stream()
+            .filter(existing -> "Encoding Model".equals(existing.getName()))
+            .findFirst()
+            .orElseGet(() -> carModelRepository.save(new CarModel("Encoding Model", "Sedan", null, 1800.0)));
+        carModelId = model.getId();
+        if (carUnitRepository.findByCarModelId(carModelId).isEmpty()) {
+            carUnits.saveAll("EN", 1000, 60, model);
+        }
+    }
+
+    @Test
+    void binaryEncodingsCarryTheSameUnits() throws Exception {
+        HttpResponse<byte[]> json = get(unitsPath(), "application/json", null);
+        HttpResponse<byte[]> cbor = get(unitsPath(), "application/cbor", null);
+        HttpResponse<byte[]> smile = get(unitsPath(), "application/x-jackson-smile", null);
+
+        assertEquals("application/cbor", cbor.headers().firstValue("Content-Type").orElseThrow());
+        assertEquals("application/x-jackson-smile", smile.headers().firstValue("Content-Type").orElseThrow());
+
+        List<Map<String, Object>> fromJson = new ObjectMapper().readValue(json.body(), ROWS);
+        assertEquals(60, fromJson.size());
+        assertEquals(fromJson, new CBORMapper().readValue(cbor.body(), ROWS));
+        assertEquals(fromJson, new SmileMapper().readValue(smile.body(), ROWS));
+        assertTrue(cbor.body().length < json.body().length);
+        assertTrue(smile.body().length < json.body().length);
+    }
+
+    @Test
+    void binaryEncodingsWriteDatesLikeJson() throws Exception {
+        User customer = userRepository.findByEmail("john@example.com").orElseThrow();
+        CarUnit unit = carUnitRepository.findByCarModelId(carModelId).get(0);
+        BookingRequest request = new BookingRequest(customer.getId(), unit.getId(),
+            LocalDate.of(2051, 2, 1), LocalDate.of(2051, 2, 3));
+        bookingService.createBooking(customer, request);
+        String token = "Bearer " + tokenService.issue(customer);
+
+        List<Map<String, Object>> fromJson = new ObjectMapper().readValue(
+            get("/api/users/my-bookings", "application/json", null, token).body(), ROWS);
+        List<Map<String, Object>> fromCbor = new CBORMapper().readValue(
+            get("/api/users/my-bookings", "application/cbor", null, token).body(), ROWS);
+        List<Map<String, Object>> fromSmile = new SmileMapper().readValue(
+            get("/api/users/my-bookings", "application/x-jackson-smile", null, token).body(), ROWS);
+
+        assertTrue(fromJson.stream().anyMatch(booking -> "2051-02-01".equals(booking.get("startDate"))));
+        assertEquals(fromJson, fromCbor);
+        assertEquals(fromJson, fromSmile);
+    }
+
+    @Test
+    void onlyLargeResponsesAreCompressed() throws Exception {
+        HttpResponse<byte[]> large = get(unitsPath(), "application/json", "gzip");
+        assertEquals("gzip", large.headers().firstValue("Content-Encoding").orElse(null));
+        byte[] unzipped = new GZIPInputStream(new ByteArrayInputStream(large.body())).readAllBytes();
+        assertEquals(60, new ObjectMapper().readValue(unzipped, ROWS).size());
+
+        HttpResponse<byte[]> small = get("/api/users/car-models/search?q=encoding", "application/json", "gzip");
+        assertEquals(200, small.statusCode());
+        assertNull(small.headers().firstValue("Content-Encoding").orElse(null));
+    }
+
+    private String unitsPath() {
+        return "/api/users/available-units?carModelId=" + carModelId + "&startDate=2050-01-01&endDate=2050-01-03";
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, String acceptEncoding) throws Exception {
+        return get(path, accept, acceptEncoding, null);
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, String acceptEncoding, String authorization)
+            throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .header("Accept", accept);
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        if (authorization != null) {
+            request.header("Authorization", authorization);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
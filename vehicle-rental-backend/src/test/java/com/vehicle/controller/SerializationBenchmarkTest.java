@@ -0,0 +1,81 @@
+package com.vehicle.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.vehicle.dto.BookingView;
+import com.vehicle.dto.CarUnitView;
+
+// Serialization cost and payload size of the booking and unit lists per encoding.
+// Not part of the regular build; run with:
+//   mvn test -Dtest=SerializationBenchmarkTest -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SerializationBenchmarkTest {
+
+    private static final int ROWS = 5_000;
+    private static final int WARMUP = 30;
+    private static final int MEASURED = 50;
+
+    @Test
+    void compareEncodings() throws IOException {
+        List<BookingView> bookings = new ArrayList<>();
+        List<CarUnitView> units = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            LocalDate start = LocalDate.of(2030, 1, 1).plusDays(i % 365);
+            bookings.add(new BookingView((long) i, start, start.plusDays(3), 4500.0 + i, "CONFIRMED",
+                LocalDateTime.of(2029, 12, 1, 10, 30).plusMinutes(i), (long) (i % 400), "Customer " + (i % 400),
+                "customer" + (i % 400) + "@example.com", "98765" + (10000 + i % 400), (long) (i % 900),
+                "MH01AB" + (1000 + i % 900), true, (long) (i % 40), "Model " + (i % 40), "SUV",
+                "https://cdn.example.com/models/" + (i % 40) + ".jpg", 1500.0, 2L));
+            units.add(new CarUnitView((long) i, "MH01AB" + (1000 + i), i % 7 != 0, (long) (i % 40), "Model " + (i % 40),
+                "Sedan", "https://cdn.example.com/models/" + (i % 40) + ".jpg", 1500.0, 2L));
+        }
+
+        System.out.printf("%-12s %-8s %10s %12s %12s%n", "payload", "format", "ms/op", "bytes", "gzip bytes");
+        for (String format : List.of("json", "cbor", "smile")) {
+            ObjectMapper mapper = mapper(format);
+            report("bookings", format, mapper, bookings);
+            report("units", format, mapper, units);
+        }
+    }
+
+    private static ObjectMapper mapper(String format) {
+        ObjectMapper mapper = switch (format) {
+            case "cbor" -> new CBORMapper();
+            case "smile" -> new SmileMapper();
+            default -> new ObjectMapper();
+        };
+        return mapper.registerModule(new JavaTimeModule()).disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static void report(String payload, String format, ObjectMapper mapper, Object value) throws IOException {
+        byte[] bytes = null;
+        for (int i = 0; i < WARMUP; i++) {
+            bytes = mapper.writeValueAsBytes(value);
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < MEASURED; i++) {
+            bytes = mapper.writeValueAsBytes(value);
+        }
+        double millis = (System.nanoTime() - started) / 1e6 / MEASURED;
+
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(bytes);
+        }
+        System.out.printf("%-12s %-8s %10.2f %12d %12d%n", payload, format, millis, bytes.length, gzipped.size());
+    }
+}
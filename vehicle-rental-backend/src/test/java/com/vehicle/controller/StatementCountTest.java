@@ -0,0 +1,114 @@
+package com.vehicle.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import com.vehicle.model.Booking;
+import com.vehicle.model.CarUnit;
+import com.vehicle.model.User;
+import com.vehicle.repository.BookingRepository;
+import com.vehicle.repository.CarUnitRepository;
+import com.vehicle.repository.UserRepository;
+import com.vehicle.service.CarModelCatalog;
+import com.vehicle.service.TokenService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Every read endpoint should cost one SQL statement however many rows it returns
+@SpringBootTest
+@AutoConfigureMockMvc
+class StatementCountTest {
+
+    @Autowired
+    private CarModelCatalog carModelCatalog;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CarUnitRepository carUnitRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User admin;
+    private User customer;
+    private User seller;
+    private CarUnit unit;
+
+    @BeforeEach
+    void seedBookings() {
+        admin = userRepository.findByEmail("admin@vroom.com").orElseThrow();
+        customer = userRepository.findByEmail("john@example.com").orElseThrow();
+        seller = userRepository.findByEmail("seller@example.com").orElseThrow();
+        unit = carUnitRepository.findByNumberPlate("MH01AB1234").orElseThrow();
+        // ETags read the catalog version; load the catalog so it is not counted below
+        carModelCatalog.getAll();
+        if (bookingRepository.findViewsByUserId(customer.getId()).size() < 3) {
+            for (CarUnit other : carUnitRepository.findAll().subList(0, 3)) {
+                LocalDate start = LocalDate.of(2041, 2, 1).plusDays(other.getId() * 3);
+                bookingRepository.save(new Booking(customer, other, start, start.plusDays(1), 1000.0));
+            }
+        }
+    }
+
+    // Admin requests also re-read the caller's role and status, one primary key lookup
+    @Test
+    void adminListsTakeOneQueryAfterTheRoleCheck() throws Exception {
+        assertStatements(2, get("/api/admin/bookings").header("Authorization", bearer(admin)));
+        assertStatements(2, get("/api/admin/bookings").param("limit", "2").header("Authorization", bearer(admin)));
+        assertStatements(2, get("/api/admin/users").header("Authorization", bearer(admin)));
+        assertStatements(2, get("/api/admin/car-units").header("Authorization", bearer(admin)));
+        assertStatements(2, get("/api/admin/car-units").param("limit", "5").header("Authorization", bearer(admin)));
+        assertStatements(2, get("/api/admin/car-units/" + unit.getId()).header("Authorization", bearer(admin)));
+    }
+
+    @Test
+    void bookingListsTakeOneStatement() throws Exception {
+        assertStatements(1, get("/api/users/my-bookings").header("Authorization", bearer(customer)));
+        assertStatements(1, get("/api/users/" + customer.getId() + "/bookings"));
+        assertStatements(1, get("/api/seller/my-bookings").header("Authorization", bearer(seller)));
+    }
+
+    @Test
+    void pagedBookingsCarryTheirDetails() throws Exception {
+        mockMvc.perform(get("/api/admin/bookings").param("limit", "2").header("Authorization", bearer(admin)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].carUnit.carModel.name").exists())
+            .andExpect(jsonPath("$.items[0].user.password").doesNotExist());
+    }
+
+    private void assertStatements(long expected, RequestBuilder request) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        assertEquals(expected, statistics.getPrepareStatementCount(), request.toString());
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + tokenService.issue(user);
+    }
+}
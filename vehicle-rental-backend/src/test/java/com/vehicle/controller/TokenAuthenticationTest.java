@@ -0,0 +1,140 @@
+package com.vehicle.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle.model.User;
+import com.vehicle.repository.UserRepository;
+import com.vehicle.service.TokenService;
+import com.vehicle.service.UserService;
+
+import jakarta.servlet.http.Cookie;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TokenAuthenticationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private String login(String email, String password) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/users/login")
+                .contentType("application/json")
+                .content("{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Set-Cookie", containsString(TokenService.COOKIE_NAME + "=")))
+            .andExpect(header().string("Set-Cookie", containsString("HttpOnly")))
+            .andReturn();
+        // Stateless: logging in must not create a server-side session
+        assertNull(result.getRequest().getSession(false));
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+    }
+
+    @Test
+    void loginTokenAuthenticatesByHeaderOrCookie() throws Exception {
+        String token = login("john@example.com", "password123");
+
+        mockMvc.perform(get("/api/users/profile").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.user.email").value("john@example.com"))
+            .andExpect(jsonPath("$.user.phone").exists());
+        mockMvc.perform(get("/api/users/profile").cookie(new Cookie(TokenService.COOKIE_NAME, token)))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void missingOrTamperedTokensAreRejected() throws Exception {
+        String token = login("john@example.com", "password123");
+        int signature = token.lastIndexOf('.') + 1;
+        String tampered = token.substring(0, signature) + (token.charAt(signature) == 'A' ? 'B' : 'A')
+            + token.substring(signature + 1);
+
+        mockMvc.perform(get("/api/users/profile")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/users/profile").header("Authorization", "Bearer " + tampered))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void roleComesFromTheToken() throws Exception {
+        String customer = login("john@example.com", "password123");
+        String admin = login("admin@vroom.com", "admin123");
+
+        mockMvc.perform(get("/api/admin/pending-sellers").header("Authorization", "Bearer " + customer))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/admin/pending-sellers").header("Authorization", "Bearer " + admin))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void writesAndAdminRequestsUseTheStoredRoleAndStatus() throws Exception {
+        User user = userService.registerUser(new User("Token User", "token-user@example.com", "secret123",
+            "9000000030", "DL-TOKEN", "user", "active"));
+        String token = login("token-user@example.com", "secret123");
+
+        // A token claiming admin is not enough once the stored role is checked
+        user.setRole("admin");
+        String forged = tokenService.issue(user);
+        mockMvc.perform(get("/api/admin/pending-sellers").header("Authorization", "Bearer " + forged))
+            .andExpect(status().isForbidden());
+
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        stored.setStatus("suspended");
+        userRepository.save(stored);
+        mockMvc.perform(post("/api/users/book").header("Authorization", "Bearer " + token)
+                .contentType("application/json").content("{\"carUnitId\":1}"))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminStatusChangesReturnTheUserWithoutCredentials() throws Exception {
+        User user = userService.registerUser(new User("Toggled User", "toggled-user@example.com", "secret123",
+            "9000000031", "DL-TOGGLE", "user", "active"));
+        String admin = login("admin@vroom.com", "admin123");
+
+        for (String status : new String[] {"suspended", "active"}) {
+            mockMvc.perform(put("/api/admin/toggle-user-status/" + user.getId()).header("Authorization", "Bearer " + admin))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.status").value(status))
+                .andExpect(jsonPath("$.user.email").value("toggled-user@example.com"))
+                .andExpect(jsonPath("$.user.password").doesNotExist());
+        }
+        // The stored password was never touched
+        login("toggled-user@example.com", "secret123");
+    }
+
+    @Test
+    void blankSecretIsOnlyAllowedInDev() {
+        assertThrows(IllegalStateException.class, () -> new TokenService(new MockEnvironment(), "", 60));
+        MockEnvironment dev = new MockEnvironment();
+        dev.setActiveProfiles("dev");
+        new TokenService(dev, "", 60);
+    }
+}
@@ -0,0 +1,105 @@
+package com.vehicle.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vehicle.dto.AdminStats;
+import com.vehicle.dto.BookingRequest;
+import com.vehicle.model.Booking;
+import com.vehicle.model.CarModel;
+import com.vehicle.model.CarUnit;
+import com.vehicle.model.User;
+import com.vehicle.repository.CarModelRepository;
+import com.vehicle.repository.UserRepository;
+
+@SpringBootTest
+class AdminStatsServiceTest {
+
+    @Autowired
+    private AdminStatsService adminStatsService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Test
+    void countersFollowWritesAndMatchARecount() {
+        // Other tests write straight through repositories, so start from a fresh count
+        adminStatsService.load();
+        AdminStats before = adminStatsService.getStats();
+
+        User seller = userService.registerUser(new User("Stats Seller", "stats-seller@example.com", "secret123",
+            "9000000010", "DL-STATS", "seller", "pending"));
+        assertEquals(before.getPendingSellers() + 1, adminStatsService.getStats().getPendingSellers());
+        adminService.approveSeller(seller.getId());
+        AdminStats afterApproval = adminStatsService.getStats();
+        assertEquals(before.getPendingSellers(), afterApproval.getPendingSellers());
+        assertEquals(before.getTotalUsers() + 1, afterApproval.getTotalUsers());
+
+        CarModel model = carModelRepository.findAll().get(0);
+        CarUnit unit = new CarUnit();
+        unit.setNumberPlate("ST01AT0001");
+        unit.setCarModel(model);
+        unit = adminService.addCarUnit(unit);
+        assertEquals(before.getTotalCarUnits() + 1, adminStatsService.getStats().getTotalCarUnits());
+        assertEquals(before.getAvailableCarUnits() + 1, adminStatsService.getStats().getAvailableCarUnits());
+
+        User customer = userRepository.findByEmail("john@example.com").orElseThrow();
+        BookingRequest request = new BookingRequest();
+        request.setCarUnitId(unit.getId());
+        request.setStartDate(LocalDate.of(2070, 5, 1));
+        request.setEndDate(LocalDate.of(2070, 5, 3));
+        Booking booking = bookingService.createBooking(customer, request);
+        AdminStats booked = adminStatsService.getStats();
+        assertEquals(before.getTotalBookings() + 1, booked.getTotalBookings());
+        assertEquals(before.getRevenue() + booking.getTotalCost(), booked.getRevenue(), 0.001);
+
+        adminService.updateAvailability(unit.getId(), false);
+        assertEquals(before.getAvailableCarUnits(), adminStatsService.getStats().getAvailableCarUnits());
+
+        // Incremental counts agree with counting from scratch
+        AdminStats incremental = adminStatsService.getStats();
+        adminStatsService.load();
+        AdminStats recounted = adminStatsService.getStats();
+        assertEquals(recounted.getUsersByStatus(), incremental.getUsersByStatus());
+        assertEquals(recounted.getUsersByRole(), incremental.getUsersByRole());
+        assertEquals(recounted.getBookingsByStatus(), incremental.getBookingsByStatus());
+        assertEquals(recounted.getRevenue(), incremental.getRevenue(), 0.001);
+        assertEquals(recounted.getTotalCarUnits(), incremental.getTotalCarUnits());
+        assertEquals(recounted.getAvailableCarUnits(), incremental.getAvailableCarUnits());
+
+        bookingService.cancelBooking(booking.getId(), customer.getId());
+        assertEquals(before.getTotalBookings(), adminStatsService.getStats().getTotalBookings());
+        assertEquals(before.getRevenue(), adminStatsService.getStats().getRevenue(), 0.001);
+    }
+
+    @Test
+    void scheduledRecountPicksUpWritesMadeElsewhere() {
+        adminStatsService.load();
+        long before = adminStatsService.getStats().getTotalUsers();
+
+        // Saved straight through the repository, as another node's write looks to this one
+        userRepository.save(new User("Other Node", "stats-other-node@example.com", "secret123",
+            "9000000011", "DL-OTHER", "customer", "active"));
+        assertEquals(before, adminStatsService.getStats().getTotalUsers());
+
+        adminStatsService.reload();
+        assertEquals(before + 1, adminStatsService.getStats().getTotalUsers());
+    }
+}
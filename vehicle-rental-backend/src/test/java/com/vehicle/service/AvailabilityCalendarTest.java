@@ -0,0 +1,68 @@
+package com.vehicle.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vehicle.CarUnitFixtures;
+import com.vehicle.dto.BookingRequest;
+import com.vehicle.dto.ModelCalendar;
+import com.vehicle.model.Booking;
+import com.vehicle.model.CarModel;
+import com.vehicle.model.CarUnit;
+import com.vehicle.model.User;
+import com.vehicle.repository.CarModelRepository;
+import com.vehicle.repository.UserRepository;
+
+@SpringBootTest
+class AvailabilityCalendarTest {
+
+    @Autowired
+    private AvailabilityCalendar availabilityCalendar;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private CarUnitFixtures carUnits;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void calendarFollowsBookingsAndCancellations() {
+        CarModel model = carModelRepository.save(new CarModel("Calendar Model", "Sedan", null, 1000.0));
+        CarUnit first = carUnits.save("CAL1", model);
+        CarUnit second = carUnits.save("CAL2", model);
+        User user = userRepository.findByEmail("john@example.com").orElseThrow();
+        LocalDate start = LocalDate.now().plusDays(10);
+
+        Booking booking = bookingService.createBooking(user,
+            new BookingRequest(user.getId(), first.getId(), start.plusDays(2), start.plusDays(4)));
+
+        ModelCalendar calendar = availabilityCalendar.getModelCalendar(model.getId(), start, 7);
+        assertEquals(2, calendar.getUnits().size());
+        assertEquals("0011100", calendar.getUnits().get(0).getBooked());
+        assertEquals("0000000", calendar.getUnits().get(1).getBooked());
+
+        bookingService.cancelBooking(booking.getId(), user.getId());
+
+        calendar = availabilityCalendar.getModelCalendar(model.getId(), start, 7);
+        assertEquals("0000000", calendar.getUnits().get(0).getBooked());
+        assertEquals(second.getId(), calendar.getUnits().get(1).getCarUnitId());
+    }
+
+    @Test
+    void rangesOutsideTheWindowAreRejected() {
+        assertThrows(RuntimeException.class,
+            () -> availabilityCalendar.getModelCalendar(1L, LocalDate.now().plusYears(5), 31));
+    }
+}
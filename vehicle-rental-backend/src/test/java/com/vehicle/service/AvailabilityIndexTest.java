@@ -0,0 +1,74 @@
+package com.vehicle.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vehicle.CarUnitFixtures;
+import com.vehicle.model.Booking;
+import com.vehicle.model.CarModel;
+import com.vehicle.model.CarUnit;
+import com.vehicle.model.User;
+import com.vehicle.repository.BookingRepository;
+import com.vehicle.repository.CarModelRepository;
+import com.vehicle.repository.UserRepository;
+
+@SpringBootTest
+class AvailabilityIndexTest {
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private CarUnitFixtures carUnits;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void bookingsWrittenElsewhereAreSeenOnceTheIndexIsRebuilt() {
+        CarUnit unit = carUnits.save("AVIDX0001", model());
+        LocalDate start = LocalDate.of(2041, 3, 10);
+        // Saved and deleted straight through the repository, as another node's writes look to this one
+        Booking booking = bookingRepository.save(new Booking(user(), unit, start, start.plusDays(2), 2000.0));
+        assertTrue(availabilityIndex.isAvailable(unit.getId(), start, start));
+
+        availabilityIndex.reload();
+        assertFalse(availabilityIndex.isAvailable(unit.getId(), start.plusDays(1), start.plusDays(1)));
+
+        bookingRepository.deleteById(booking.getId());
+        availabilityIndex.reload();
+        assertTrue(availabilityIndex.isAvailable(unit.getId(), start, start.plusDays(2)));
+    }
+
+    @Test
+    void rangesBeforeTodayAreLeftToTheDatabase() {
+        CarUnit unit = carUnits.save("AVIDX0002", model());
+        LocalDate past = LocalDate.now().minusDays(30);
+        bookingRepository.save(new Booking(user(), unit, past, past.plusDays(2), 2000.0));
+
+        availabilityIndex.reload();
+        assertFalse(availabilityIndex.isReady(past));
+        assertTrue(availabilityIndex.isReady(LocalDate.now()));
+        assertTrue(availabilityIndex.isAvailable(unit.getId(), past, past.plusDays(2)));
+    }
+
+    private User user() {
+        return userRepository.findByEmail("john@example.com").orElseThrow();
+    }
+
+    private CarModel model() {
+        return carModelRepository.findAll().get(0);
+    }
+}
@@ -0,0 +1,102 @@
+package com.vehicle.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vehicle.CarUnitFixtures;
+import com.vehicle.dto.ModelAvailability;
+import com.vehicle.model.Booking;
+import com.vehicle.model.CarModel;
+import com.vehicle.model.CarUnit;
+import com.vehicle.model.User;
+import com.vehicle.repository.BookingRepository;
+import com.vehicle.repository.CarModelRepository;
+import com.vehicle.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "vroom.availability.index.enabled=false")
+class AvailableUnitsQueryTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private CarUnitFixtures carUnits;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void availableUnitsForAModelTakeOneQuery() {
+        CarModel model = carModelRepository.save(new CarModel("Query Count Model", "Sedan", null, 1000.0));
+        List<CarUnit> units = carUnits.saveAll("QC", 0, 50, model);
+        User user = userRepository.findByEmail("john@example.com").orElseThrow();
+        LocalDate start = LocalDate.of(2031, 3, 10);
+        LocalDate end = LocalDate.of(2031, 3, 15);
+        bookingRepository.save(new Booking(user, units.get(0), start, end, 5000.0));
+        bookingRepository.save(new Booking(user, units.get(1), end, end.plusDays(3), 3000.0));
+        bookingRepository.save(new Booking(user, units.get(2), start.minusDays(10), start.minusDays(1), 9000.0));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<CarUnit> available = userService.getAvailableUnits(model.getId(), start, end, user);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(48, available.size());
+        assertFalse(available.stream().anyMatch(unit -> unit.getId().equals(units.get(0).getId())));
+        assertFalse(available.stream().anyMatch(unit -> unit.getId().equals(units.get(1).getId())));
+        assertEquals("Query Count Model", available.get(0).getCarModel().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void fleetAvailabilityTakesTwoQueries() {
+        CarModel busy = carModelRepository.save(new CarModel("Fleet Busy", "Roadster", null, 5000.0));
+        CarModel free = carModelRepository.save(new CarModel("Fleet Free", "Roadster", null, 6000.0));
+        carModelRepository.save(new CarModel("Fleet Pricey", "Roadster", null, 90000.0));
+        CarUnit busyUnit = carUnits.save("FLB1", busy);
+        CarUnit firstFree = carUnits.save("FLF1", free);
+        carUnits.save("FLF2", free);
+        User user = userRepository.findByEmail("john@example.com").orElseThrow();
+        LocalDate start = LocalDate.of(2031, 6, 1);
+        LocalDate end = LocalDate.of(2031, 6, 4);
+        bookingRepository.save(new Booking(user, busyUnit, start, end, 20000.0));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ModelAvailability> fleet = userService.getFleetAvailability(start, end, "Roadster", 1000.0, 10000.0);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(2, fleet.size());
+        ModelAvailability busyResult = fleet.stream()
+            .filter(a -> a.getCarModel().getId().equals(busy.getId())).findFirst().orElseThrow();
+        ModelAvailability freeResult = fleet.stream()
+            .filter(a -> a.getCarModel().getId().equals(free.getId())).findFirst().orElseThrow();
+        assertEquals(0, busyResult.getAvailableUnits());
+        assertNull(busyResult.getSampleUnitId());
+        assertEquals(2, freeResult.getAvailableUnits());
+        assertEquals(firstFree.getId(), freeResult.getSampleUnitId());
+    }
+}
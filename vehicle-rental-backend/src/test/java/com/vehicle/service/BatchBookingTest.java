@@ -0,0 +1,104 @@
+package com.vehicle.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vehicle.CarUnitFixtures;
+import com.vehicle.dto.BookingRequest;
+import com.vehicle.model.Booking;
+import com.vehicle.model.CarModel;
+import com.vehicle.model.CarUnit;
+import com.vehicle.model.User;
+import com.vehicle.repository.BookingRepository;
+import com.vehicle.repository.CarModelRepository;
+import com.vehicle.repository.UserRepository;
+
+@SpringBootTest
+class BatchBookingTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private CarUnitFixtures carUnits;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void batchCreatesEveryBooking() {
+        List<CarUnit> units = saveUnits("BATCHOK", 20);
+        User user = userRepository.findByEmail("john@example.com").orElseThrow();
+        LocalDate start = LocalDate.of(2034, 2, 1);
+        List<BookingRequest> requests = new ArrayList<>();
+        for (CarUnit unit : units) {
+            requests.add(new BookingRequest(user.getId(), unit.getId(), start, start.plusDays(3)));
+        }
+
+        List<Booking> bookings = bookingService.createBookings(user, requests);
+
+        assertEquals(20, bookings.size());
+        for (Booking booking : bookings) {
+            assertNotNull(booking.getId());
+            assertEquals(3000.0, booking.getTotalCost());
+            assertTrue(bookingRepository.existsById(booking.getId()));
+            assertFalse(availabilityIndex.isAvailable(booking.getCarUnit().getId(), start, start));
+        }
+    }
+
+    @Test
+    void batchWithOneConflictCreatesNothing() {
+        List<CarUnit> units = saveUnits("BATCHNO", 5);
+        User user = userRepository.findByEmail("john@example.com").orElseThrow();
+        LocalDate start = LocalDate.of(2034, 5, 1);
+        bookingService.createBooking(user, new BookingRequest(user.getId(), units.get(4).getId(), start, start.plusDays(1)));
+        List<BookingRequest> requests = new ArrayList<>();
+        for (CarUnit unit : units) {
+            requests.add(new BookingRequest(user.getId(), unit.getId(), start, start.plusDays(2)));
+        }
+
+        assertThrows(RuntimeException.class, () -> bookingService.createBookings(user, requests));
+
+        for (CarUnit unit : units.subList(0, 4)) {
+            assertTrue(bookingRepository.findConflictingBookings(unit.getId(), start, start.plusDays(2)).isEmpty());
+        }
+    }
+
+    @Test
+    void batchRejectsOverlapWithinItself() {
+        List<CarUnit> units = saveUnits("BATCHSELF", 1);
+        User user = userRepository.findByEmail("john@example.com").orElseThrow();
+        LocalDate start = LocalDate.of(2034, 8, 1);
+        List<BookingRequest> requests = List.of(
+            new BookingRequest(user.getId(), units.get(0).getId(), start, start.plusDays(3)),
+            new BookingRequest(user.getId(), units.get(0).getId(), start.plusDays(3), start.plusDays(5)));
+
+        assertThrows(RuntimeException.class, () -> bookingService.createBookings(user, requests));
+        assertTrue(bookingRepository.findConflictingBookings(units.get(0).getId(), start, start.plusDays(5)).isEmpty());
+    }
+
+    private List<CarUnit> saveUnits(String platePrefix, int count) {
+        CarModel model = carModelRepository.save(new CarModel(platePrefix + " Model", "Sedan", null, 1000.0));
+        return carUnits.saveAll(platePrefix, 0, count, model);
+    }
+}
@@ -0,0 +1,150 @@
+package com.vehicle.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vehicle.CarUnitFixtures;
+import com.vehicle.dto.BookingRequest;
+import com.vehicle.model.Booking;
+import com.vehicle.model.CarModel;
+import com.vehicle.model.CarUnit;
+import com.vehicle.model.User;
+import com.vehicle.repository.BookingRepository;
+import com.vehicle.repository.CarModelRepository;
+import com.vehicle.repository.UserRepository;
+
+@SpringBootTest
+class BookingConcurrencyTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private CarUnitFixtures carUnits;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void sameUnitAndRangeIsBookedExactlyOnce() throws Exception {
+        CarModel model = carModelRepository.save(new CarModel("Race Model", "Sedan", null, 1000.0));
+        CarUnit unit = carUnits.save("RACE1", model);
+        User user = userRepository.findByEmail("john@example.com").orElseThrow();
+        LocalDate start = LocalDate.of(2032, 1, 10);
+
+        AtomicInteger successes = new AtomicInteger();
+        runConcurrently(THREADS, 1, () -> {
+            bookingService.createBooking(user, new BookingRequest(user.getId(), unit.getId(), start, start.plusDays(2)));
+            successes.incrementAndGet();
+        });
+
+        assertEquals(1, successes.get());
+        assertEquals(1, bookingRepository.findConflictingBookings(unit.getId(), start, start.plusDays(2)).size());
+    }
+
+    @Test
+    void randomBookingsAcrossUnitsNeverOverlap() throws Exception {
+        CarModel model = carModelRepository.save(new CarModel("Stress Model", "SUV", null, 2000.0));
+        List<CarUnit> units = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            units.add(carUnits.save("STRESS" + i, model));
+        }
+        User user = userRepository.findByEmail("john@example.com").orElseThrow();
+        LocalDate horizon = LocalDate.of(2033, 1, 1);
+        int attemptsPerThread = 40;
+
+        AtomicInteger successes = new AtomicInteger();
+        runConcurrently(THREADS, attemptsPerThread, () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            CarUnit unit = units.get(random.nextInt(units.size()));
+            LocalDate start = horizon.plusDays(random.nextInt(60));
+            bookingService.createBooking(user,
+                new BookingRequest(user.getId(), unit.getId(), start, start.plusDays(random.nextInt(4))));
+            successes.incrementAndGet();
+        });
+
+        assertTrue(successes.get() > 0);
+        assertTrue(successes.get() <= THREADS * attemptsPerThread);
+        int stored = 0;
+        for (CarUnit unit : units) {
+            List<Booking> bookings = new ArrayList<>(bookingRepository.findConflictingBookings(
+                unit.getId(), horizon, horizon.plusDays(70)));
+            stored += bookings.size();
+            bookings.sort(Comparator.comparing(Booking::getStartDate));
+            for (int i = 1; i < bookings.size(); i++) {
+                assertFalse(!bookings.get(i).getStartDate().isAfter(bookings.get(i - 1).getEndDate()),
+                    "Double booking on unit " + unit.getNumberPlate());
+            }
+        }
+        // Every accepted booking was stored, and nothing else was
+        assertEquals(successes.get(), stored);
+    }
+
+    @Test
+    void concurrentCancelsOfOneBookingSucceedOnce() throws Exception {
+        CarModel model = carModelRepository.save(new CarModel("Cancel Race Model", "Sedan", null, 1000.0));
+        CarUnit unit = carUnits.save("RACE2", model);
+        User user = userRepository.findByEmail("john@example.com").orElseThrow();
+        LocalDate start = LocalDate.of(2032, 2, 10);
+        Booking booking = bookingService.createBooking(user,
+            new BookingRequest(user.getId(), unit.getId(), start, start.plusDays(2)));
+
+        AtomicInteger successes = new AtomicInteger();
+        runConcurrently(8, 1, () -> {
+            bookingService.cancelBooking(booking.getId(), user.getId());
+            successes.incrementAndGet();
+        });
+
+        assertEquals(1, successes.get());
+        assertFalse(bookingRepository.existsById(booking.getId()));
+    }
+
+        // Runs the attempt on every thread at once; rejected bookings are expected and ignored
+    private void runConcurrently(int threads, int attemptsPerThread, Runnable attempt) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startGate = new CountDownLatch(1);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    startGate.await();
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        try {
+                            attempt.run();
+                        } catch (RuntimeException e) {
+                            // Conflict with a booking that won the race
+                        }
+                    }
+                    return null;
+                });
+            }
+            startGate.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.vehicle.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle.model.Booking;
+import com.vehicle.model.CarUnit;
+import com.vehicle.model.User;
+import com.vehicle.repository.BookingRepository;
+import com.vehicle.repository.CarUnitRepository;
+import com.vehicle.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class BookingExportTest {
+
+    @Autowired
+    private BookingExportService bookingExportService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CarUnitRepository carUnitRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportsMatchingBookingsInOneQuery() throws Exception {
+        User user = userRepository.findByEmail("john@example.com").orElseThrow();
+        CarUnit unit = carUnitRepository.findByNumberPlate("MH03EF3236").orElseThrow();
+        LocalDate start = LocalDate.of(2045, 7, 1);
+        for (int i = 0; i < 25; i++) {
+            Booking booking = new Booking(user, unit, start.plusDays(i * 2), start.plusDays(i * 2 + 1), 1500.0);
+            booking.setStatus("EXPORTED");
+            bookingRepository.save(booking);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        bookingExportService.export("ndjson", "EXPORTED", start, null, ndjson);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        String[] lines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(25, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("MH03EF3236", first.path("carUnit").path("numberPlate").asText());
+        assertEquals("2045-07-01", first.path("startDate").asText());
+        assertFalse(lines[0].contains("password"));
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        bookingExportService.export("csv", "EXPORTED", start, start.plusDays(9), csv);
+        String[] rows = csv.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(6, rows.length);
+        assertTrue(rows[0].startsWith("id,start_date"));
+        assertTrue(rows[1].contains(",MH03EF3236,"));
+    }
+}
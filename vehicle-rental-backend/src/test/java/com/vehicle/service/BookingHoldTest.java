@@ -0,0 +1,136 @@
+package com.vehicle.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vehicle.CarUnitFixtures;
+import com.vehicle.dto.BookingHold;
+import com.vehicle.dto.BookingRequest;
+import com.vehicle.dto.ModelAvailability;
+import com.vehicle.model.Booking;
+import com.vehicle.model.CarModel;
+import com.vehicle.model.CarUnit;
+import com.vehicle.model.User;
+import com.vehicle.repository.CarModelRepository;
+import com.vehicle.repository.CarUnitRepository;
+import com.vehicle.repository.UserRepository;
+
+@SpringBootTest(properties = "vroom.booking.hold.ttl-seconds=2")
+class BookingHoldTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private CarUnitRepository carUnitRepository;
+
+    @Autowired
+    private CarUnitFixtures carUnits;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void holdKeepsUnitForItsOwnerUntilConfirmed() {
+        CarModel model = carModelRepository.save(new CarModel("Hold Model", "Sedan", null, 1000.0));
+        CarUnit unit = carUnits.save("HOLD1", model);
+        User owner = userRepository.findByEmail("john@example.com").orElseThrow();
+        User other = userRepository.findByEmail("seller@example.com").orElseThrow();
+        LocalDate start = LocalDate.of(2035, 4, 1);
+        LocalDate end = start.plusDays(2);
+
+        BookingHold hold = userService.placeHold(owner, new BookingRequest(owner.getId(), unit.getId(), start, end));
+
+        // The owner is still offered the unit they hold, everyone else is not
+        assertEquals(1, userService.getAvailableUnits(model.getId(), start, end, owner).size());
+        assertTrue(userService.getAvailableUnits(model.getId(), start, end, other).isEmpty());
+        assertTrue(userService.getAvailableUnits(model.getId(), start, end, null).isEmpty());
+        assertEquals(0, userService.getFleetAvailability(start, end, null, 999.0, 1001.0).stream()
+            .filter(a -> a.getCarModel().getId().equals(model.getId()))
+            .findFirst().orElseThrow().getAvailableUnits());
+        assertThrows(RuntimeException.class,
+            () -> userService.createBooking(other, new BookingRequest(other.getId(), unit.getId(), start, end)));
+        assertThrows(RuntimeException.class,
+            () -> userService.placeHold(other, new BookingRequest(other.getId(), unit.getId(), start, end)));
+
+        BookingRequest confirm = new BookingRequest(owner.getId(), unit.getId(), start, end);
+        confirm.setHoldId(hold.getId());
+        Booking booking = userService.createBooking(owner, confirm);
+
+        assertEquals(unit.getId(), booking.getCarUnit().getId());
+        assertTrue(userService.getAvailableUnits(model.getId(), start, end, owner).isEmpty());
+        assertFalse(userService.getAvailableUnits(model.getId(), end.plusDays(1), end.plusDays(2), other).isEmpty());
+    }
+
+    @Test
+    void bookingSpendsTheUsersHoldSoItCannotBookTwice() {
+        CarModel model = carModelRepository.save(new CarModel("Spent Hold Model", "Sedan", null, 1000.0));
+        CarUnit unit = carUnits.save("HOLD3", model);
+        User owner = userRepository.findByEmail("john@example.com").orElseThrow();
+        LocalDate start = LocalDate.of(2035, 9, 1);
+        LocalDate end = start.plusDays(2);
+
+        BookingHold hold = userService.placeHold(owner, new BookingRequest(owner.getId(), unit.getId(), start, end));
+        // Booking without naming the hold still uses it up
+        userService.createBooking(owner, new BookingRequest(owner.getId(), unit.getId(), start, end));
+
+        BookingRequest again = new BookingRequest(owner.getId(), unit.getId(), start, end);
+        again.setHoldId(hold.getId());
+        assertThrows(RuntimeException.class, () -> userService.createBooking(owner, again));
+        assertEquals(1, userService.getUserBookings(owner.getId()).stream()
+            .filter(b -> b.getCarUnit().getId().equals(unit.getId())).count());
+    }
+
+    @Test
+    void fleetAvailabilityOnlyTakesHeldFreeUnitsOff() {
+        CarModel model = carModelRepository.save(new CarModel("Fleet Hold Model", "Sedan", null, 1000.0));
+        CarUnit held = carUnits.save("HOLD4", model);
+        CarUnit free = carUnits.save("HOLD5", model);
+        CarUnit retired = carUnits.save("HOLD6", model);
+        User owner = userRepository.findByEmail("john@example.com").orElseThrow();
+        LocalDate start = LocalDate.of(2035, 11, 1);
+        LocalDate end = start.plusDays(2);
+
+        userService.placeHold(owner, new BookingRequest(owner.getId(), held.getId(), start, end));
+        userService.placeHold(owner, new BookingRequest(owner.getId(), retired.getId(), start, end));
+        // Taken out of service while held, so it is not among the free units to begin with
+        retired.setAvailable(false);
+        carUnitRepository.save(retired);
+
+        ModelAvailability availability = userService.getFleetAvailability(start, end, null, 999.0, 1001.0).stream()
+            .filter(a -> a.getCarModel().getId().equals(model.getId()))
+            .findFirst().orElseThrow();
+        assertEquals(1, availability.getAvailableUnits());
+        // The lowest id is held, so the sample is the next free unit
+        assertEquals(free.getId(), availability.getSampleUnitId());
+    }
+
+        @Test
+    void holdExpiresOnItsOwn() throws InterruptedException {
+        CarModel model = carModelRepository.save(new CarModel("Expiring Hold Model", "Sedan", null, 1000.0));
+        CarUnit unit = carUnits.save("HOLD2", model);
+        User owner = userRepository.findByEmail("john@example.com").orElseThrow();
+        User other = userRepository.findByEmail("seller@example.com").orElseThrow();
+        LocalDate start = LocalDate.of(2035, 7, 1);
+
+        userService.placeHold(owner, new BookingRequest(owner.getId(), unit.getId(), start, start));
+        assertTrue(userService.getAvailableUnits(model.getId(), start, start, other).isEmpty());
+
+        Thread.sleep(2100);
+
+        assertEquals(1, userService.getAvailableUnits(model.getId(), start, start, other).size());
+        Booking booking = userService.createBooking(other, new BookingRequest(other.getId(), unit.getId(), start, start));
+        assertEquals(other.getId(), booking.getUser().getId());
+    }
+}
@@ -0,0 +1,67 @@
+package com.vehicle.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle.dto.BookingRequest;
+import com.vehicle.dto.BookingView;
+import com.vehicle.model.CarUnit;
+import com.vehicle.model.User;
+import com.vehicle.repository.CarUnitRepository;
+import com.vehicle.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class BookingViewTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CarUnitRepository carUnitRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void userBookingsAreOneQueryWithoutPasswords() throws Exception {
+        User user = userRepository.findByEmail("john@example.com").orElseThrow();
+        CarUnit unit = carUnitRepository.findByNumberPlate("MH01AB1234").orElseThrow();
+        BookingRequest request = new BookingRequest();
+        request.setCarUnitId(unit.getId());
+        request.setStartDate(LocalDate.of(2034, 5, 1));
+        request.setEndDate(LocalDate.of(2034, 5, 3));
+        bookingService.createBooking(user, request);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<BookingView> bookings = bookingService.getUserBookings(user.getId());
+        String json = objectMapper.writeValueAsString(bookings);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertFalse(bookings.isEmpty());
+        assertEquals("MH01AB1234", bookings.get(0).getCarUnit().getNumberPlate());
+        assertTrue(json.contains("\"carModel\""));
+        assertFalse(json.contains("password"));
+        assertFalse(json.contains("drivingLicense"));
+    }
+}
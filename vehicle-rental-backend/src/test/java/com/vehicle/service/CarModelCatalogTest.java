@@ -0,0 +1,107 @@
+package com.vehicle.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vehicle.dto.CatalogResult;
+import com.vehicle.model.CarModel;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class CarModelCatalogTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private CarModelCatalog carModelCatalog;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void catalogReadsHitTheCacheUntilAWriteInvalidatesIt() {
+        userService.getAllCarModels();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        double hitsBefore = meterRegistry.counter("vroom.catalog.cache.requests", "result", "hit").count();
+
+        int size = userService.getAllCarModels().size();
+        adminService.getAllCarModels();
+        adminService.getCarModelById(userService.getAllCarModels().get(0).getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(hitsBefore + 4, meterRegistry.counter("vroom.catalog.cache.requests", "result", "hit").count());
+
+        CarModel added = adminService.addCarModel(new CarModel("Cached Model", "Coupe", null, 7000.0));
+
+        assertEquals(size + 1, userService.getAllCarModels().size());
+        assertTrue(userService.getAllCarModels().stream().anyMatch(model -> model.getId().equals(added.getId())));
+    }
+
+    @Test
+    void editingAReturnedModelLeavesTheCatalogAlone() {
+        CarModel first = userService.getAllCarModels().get(0);
+        String name = first.getName();
+        double hits = meterRegistry.counter("vroom.catalog.cache.requests", "result", "hit").count();
+        String version = carModelCatalog.getVersion();
+
+        first.setName("Edited Outside");
+        adminService.getCarModelById(first.getId()).setPerDayRate(1.0);
+
+        CarModel cached = adminService.getCarModelById(first.getId());
+        assertEquals(name, cached.getName());
+        assertNotEquals(1.0, cached.getPerDayRate());
+        assertEquals(version, carModelCatalog.getVersion());
+        // Two lookups by id; the version reads do not count
+        assertEquals(hits + 2, meterRegistry.counter("vroom.catalog.cache.requests", "result", "hit").count());
+    }
+
+    @Test
+    void facetCountsMatchTheCatalogAndFollowWrites() {
+        CatalogResult before = userService.queryCatalog(null, null, null, null, null, null, null);
+        long suvs = before.getTypeFacets().getOrDefault("SUV", 0L);
+        CarModel added = adminService.addCarModel(new CarModel("Facet SUV", "SUV", null, 2500.0));
+
+        CatalogResult all = userService.queryCatalog(null, null, null, null, null, "rate", "desc");
+        assertEquals(suvs + 1, all.getTypeFacets().get("SUV"));
+        assertEquals(all.getTotal(), all.getRateFacets().stream().mapToLong(facet -> facet.getCount()).sum());
+        for (int i = 1; i < all.getItems().size(); i++) {
+            assertTrue(all.getItems().get(i - 1).getPerDayRate() >= all.getItems().get(i).getPerDayRate());
+        }
+
+        // Type counts ignore the type filter; bucket counts still honour it
+        CatalogResult suvsOnly = userService.queryCatalog(List.of("SUV"), null, null, null, null, null, null);
+        assertEquals(all.getTypeFacets(), suvsOnly.getTypeFacets());
+        assertEquals(suvs + 1, suvsOnly.getTotal());
+        assertEquals(suvsOnly.getTotal(), suvsOnly.getRateFacets().stream().mapToLong(facet -> facet.getCount()).sum());
+
+        // Bucket filter answered from the aggregate agrees with an equivalent rate range answered by scanning
+        CatalogResult bucket = userService.queryCatalog(null, null, null, null, "2000-3000", null, null);
+        CatalogResult range = userService.queryCatalog(null, null, 2000.0, 2999.99, null, null, null);
+        assertEquals(range.getTotal(), bucket.getTotal());
+        assertEquals(range.getTypeFacets(), bucket.getTypeFacets());
+        assertTrue(bucket.getItems().stream().anyMatch(model -> model.getId().equals(added.getId())));
+
+        adminService.deleteCarModel(added.getId());
+        assertEquals(suvs, userService.queryCatalog(null, null, null, null, null, null, null)
+            .getTypeFacets().get("SUV"));
+    }
+}
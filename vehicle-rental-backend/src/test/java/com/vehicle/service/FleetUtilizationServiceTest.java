@@ -0,0 +1,93 @@
+package com.vehicle.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vehicle.CarUnitFixtures;
+import com.vehicle.dto.FleetHeatmap;
+import com.vehicle.dto.FleetHeatmapRow;
+import com.vehicle.model.Booking;
+import com.vehicle.model.CarModel;
+import com.vehicle.model.CarUnit;
+import com.vehicle.model.User;
+import com.vehicle.repository.BookingRepository;
+import com.vehicle.repository.CarModelRepository;
+import com.vehicle.repository.UserRepository;
+
+// Chunks of two bookings so the test data spans several chunks
+@SpringBootTest(properties = "vroom.analytics.heatmap.chunk-size=2")
+class FleetUtilizationServiceTest {
+
+    @Autowired
+    private FleetUtilizationService fleetUtilizationService;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private CarUnitFixtures carUnits;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void weekdayCountsMatchADayByDayCount() {
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            LocalDate first = LocalDate.of(2020, 1, 1).plusDays(random.nextInt(400));
+            LocalDate last = first.plusDays(random.nextInt(40));
+            long[] expected = new long[7];
+            for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+                expected[day.getDayOfWeek().getValue() - 1]++;
+            }
+            long[] counts = new long[7];
+            FleetUtilizationService.addDays(counts, 0, first.toEpochDay(), last.toEpochDay());
+            assertArrayEquals(expected, counts);
+        }
+    }
+
+    @Test
+    void heatmapCountsBookedDaysByTypeAndWeekday() {
+        CarModel model = new CarModel("Heatmap Van", "heatmap-van", null, 500);
+        model = carModelRepository.save(model);
+        CarUnit first = carUnits.save("HM01AA0001", model);
+        CarUnit second = carUnits.save("HM01AA0002", model);
+        User customer = userRepository.findByEmail("john@example.com").orElseThrow();
+
+        // Four weeks, Monday 6 January to Sunday 2 February 2020
+        LocalDate from = LocalDate.of(2020, 1, 6);
+        LocalDate to = LocalDate.of(2020, 2, 2);
+        // Monday to Wednesday; two full weeks once clipped to the window; Thursday to Sunday
+        bookingRepository.save(new Booking(customer, first, LocalDate.of(2020, 1, 6), LocalDate.of(2020, 1, 8), 1500));
+        bookingRepository.save(new Booking(customer, second, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 19), 9000));
+        bookingRepository.save(new Booking(customer, first, LocalDate.of(2020, 1, 30), LocalDate.of(2020, 2, 5), 3000));
+
+        FleetHeatmap heatmap = fleetUtilizationService.compute(from, to);
+        FleetHeatmapRow row = heatmap.getRows().stream()
+            .filter(r -> "heatmap-van".equals(r.getType())).findFirst().orElseThrow();
+        assertEquals(2, row.getUnits());
+        assertArrayEquals(new long[] {3, 3, 3, 3, 3, 3, 3}, row.getBookedDays());
+        // 3 of 8 unit-days (2 units, 4 of each weekday)
+        assertArrayEquals(new double[] {37.5, 37.5, 37.5, 37.5, 37.5, 37.5, 37.5}, row.getUtilization(), 0.001);
+        assertEquals("MONDAY", heatmap.getDays().get(0));
+    }
+
+    @Test
+    void heatmapIsCachedUntilRefreshed() {
+        FleetHeatmap cached = fleetUtilizationService.getHeatmap(false);
+        assertSame(cached, fleetUtilizationService.getHeatmap(false));
+        assertNotSame(cached, fleetUtilizationService.getHeatmap(true));
+    }
+}
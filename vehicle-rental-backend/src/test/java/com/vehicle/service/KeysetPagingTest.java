@@ -0,0 +1,85 @@
+package com.vehicle.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vehicle.dto.BookingView;
+import com.vehicle.dto.CarUnitView;
+import com.vehicle.dto.KeysetPage;
+import com.vehicle.dto.UserSummary;
+
+@SpringBootTest
+class KeysetPagingTest {
+
+    @Autowired
+    private AdminService adminService;
+
+    @Test
+    void pagesCoverEveryUnitOnceInPlateOrder() {
+        List<CarUnitView> all = new ArrayList<>(adminService.getAllCarUnits());
+        all.sort(Comparator.comparing(CarUnitView::getNumberPlate).thenComparing(CarUnitView::getId));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPage<CarUnitView> page = adminService.getCarUnitsPage(null, null, "numberPlate", "asc", cursor, 3);
+            page.getItems().forEach(unit -> seen.add(unit.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(all.stream().map(CarUnitView::getId).toList(), seen);
+    }
+
+    @Test
+    void bookingPagesCoverEveryBookingOnceNewestFirst() {
+        List<BookingView> all = new ArrayList<>(adminService.getAllBookings());
+        all.sort(Comparator.comparing(BookingView::getStartDate).thenComparing(BookingView::getId).reversed());
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPage<BookingView> page = adminService.getBookingsPage(null, null, null, "startDate", "desc", cursor, 2);
+            page.getItems().forEach(booking -> seen.add(booking.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(all.stream().map(BookingView::getId).toList(), seen);
+    }
+
+        @Test
+    void userPagesDefaultToNewestIdFirst() {
+        List<Long> all = adminService.getAllUsers().stream().map(UserSummary::getId)
+            .sorted(Comparator.reverseOrder()).toList();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPage<UserSummary> page = adminService.getUsersPage(null, null, null, null, cursor, 2);
+            page.getItems().forEach(user -> seen.add(user.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(all, seen);
+    }
+
+        @Test
+    void filtersAndRejectsBadInput() {
+        KeysetPage<UserSummary> admins = adminService.getUsersPage("admin", null, null, null, null, 10);
+        assertEquals(1, admins.getItems().size());
+        assertNull(admins.getNextCursor());
+
+        assertThrows(RuntimeException.class,
+            () -> adminService.getUsersPage(null, null, "password", null, null, 10));
+        assertThrows(RuntimeException.class,
+            () -> adminService.getBookingsPage(null, null, null, "createdAt", null, "not-a-cursor", 10));
+    }
+}
@@ -0,0 +1,83 @@
+package com.vehicle.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.vehicle.model.User;
+import com.vehicle.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+class PasswordHasherTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void callersAreRejectedOnceThePoolAndQueueAreFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        BCryptPasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHasher hasher = new PasswordHasher(blocking, registry, 1, 1, 10_000);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // One task running, one queued
+            callers.submit(() -> hasher.encode("first"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            callers.submit(() -> hasher.encode("second"));
+            while (registry.get("vroom.password.hash.queue").gauge().value() < 1) {
+                Thread.sleep(5);
+            }
+
+            assertThrows(RejectedExecutionException.class, () -> hasher.encode("third"));
+            assertEquals(1.0, registry.get("vroom.password.hash.rejected").counter().count());
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    void weakerHashesAreUpgradedOnLogin() {
+        User user = new User("Rehash User", "rehash@example.com", new BCryptPasswordEncoder(4).encode("secret123"),
+            "9000000001", "DL-REHASH", "user", "active");
+        userRepository.save(user);
+
+        assertTrue(userService.authenticateUser("rehash@example.com", "secret123").isPresent());
+
+        String stored = userRepository.findByEmail("rehash@example.com").orElseThrow().getPassword();
+        assertTrue(stored.startsWith("$2a$10$"));
+        assertTrue(new BCryptPasswordEncoder().matches("secret123", stored));
+        assertFalse(stored.startsWith("$2a$04$"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.vehicle.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vehicle.CarUnitFixtures;
+import com.vehicle.dto.CarUnitView;
+import com.vehicle.model.CarModel;
+import com.vehicle.model.CarUnit;
+import com.vehicle.repository.CarModelRepository;
+import com.vehicle.repository.CarUnitRepository;
+
+@SpringBootTest
+class PlateSearchIndexTest {
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private PlateSearchIndex plateSearchIndex;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private CarUnitRepository carUnitRepository;
+
+    @Autowired
+    private CarUnitFixtures carUnits;
+
+    @Test
+    void findsPlatesByPrefixSubstringAndTypo() {
+        assertTrue(plateSearchIndex.isReady());
+        CarModel model = carModelRepository.findAll().get(0);
+        CarUnit unit = new CarUnit();
+        unit.setNumberPlate("KA-05 ZZ 9001");
+        unit.setCarModel(model);
+        Long id = adminService.addCarUnit(unit).getId();
+        assertEquals("KA05ZZ9001", unit.getNumberPlate());
+
+        assertEquals(List.of(id), ids(adminService.searchCarUnitsByPlate("ka05z", "prefix", 10)));
+        assertEquals(List.of(id), ids(adminService.searchCarUnitsByPlate("ZZ90", "contains", 10)));
+        assertTrue(ids(adminService.searchCarUnitsByPlate("Z9", "contains", 10)).contains(id));
+        assertEquals(id, ids(adminService.searchCarUnitsByPlate("KA05ZZ9010", "fuzzy", 10)).get(0));
+        assertTrue(adminService.searchCarUnitsByPlate("MH01", "prefix", 50).stream()
+            .anyMatch(found -> "MH01AB1234".equals(found.getNumberPlate())));
+
+        unit.setNumberPlate("KA05YY1111");
+        adminService.updateCarUnit(unit);
+        assertTrue(adminService.searchCarUnitsByPlate("KA05ZZ", "prefix", 10).isEmpty());
+        assertEquals(List.of(id), ids(adminService.searchCarUnitsByPlate("KA05YY", "prefix", 10)));
+
+        adminService.deleteCarUnit(id);
+        assertFalse(ids(adminService.searchCarUnitsByPlate("KA05YY1111", "fuzzy", 10)).contains(id));
+    }
+
+    @Test
+    void unitsWrittenElsewhereAreFoundOnceTheIndexIsRebuilt() {
+        CarModel model = carModelRepository.findAll().get(0);
+        // Saved straight through the repository, as another node's write looks to this one,
+        // and in the separated form plates had before they were normalized on write
+        Long id = carUnits.save("GJ-07 QX 4410", model).getId();
+        assertTrue(plateSearchIndex.prefix("GJ07QX", 10).isEmpty());
+        assertEquals(List.of(id), ids(carUnitRepository.findViewsByNumberPlateLike("GJ07QX")));
+
+        plateSearchIndex.reload();
+        assertEquals(List.of(id), plateSearchIndex.prefix("gj07qx", 10));
+    }
+
+    private static List<Long> ids(List<CarUnitView> units) {
+        return units.stream().map(CarUnitView::getId).toList();
+    }
+}
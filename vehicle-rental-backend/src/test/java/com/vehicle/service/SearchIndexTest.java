@@ -0,0 +1,57 @@
+package com.vehicle.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vehicle.dto.SearchHit;
+import com.vehicle.model.CarModel;
+import com.vehicle.model.User;
+
+@SpringBootTest
+class SearchIndexTest {
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void typeaheadFollowsServiceWrites() {
+        assertTrue(searchIndex.isReady());
+
+        User user = new User("Priyanka Quasar", "quasar.ops@example.com", "secret123", "+91 99887-76655",
+            "DL-QS-42", "user", "active");
+        userService.registerUser(user);
+        CarModel model = adminService.addCarModel(new CarModel("Quasar GT", "Coupe", null, 7000.0));
+
+        List<SearchHit> hits = searchIndex.search("quas", List.of(), 10);
+        assertEquals(2, hits.size());
+        assertTrue(hits.stream().anyMatch(hit -> "model".equals(hit.getType()) && model.getId().equals(hit.getId())));
+
+        // A match on the name outranks the same match on the type
+        CarModel named = adminService.addCarModel(new CarModel("Coupe Zephyr", "Sedan", null, 6000.0));
+        List<SearchHit> coupes = searchIndex.search("coupe", List.of("model"), 10);
+        assertEquals(named.getId(), coupes.get(0).getId());
+        assertTrue(coupes.stream().anyMatch(hit -> model.getId().equals(hit.getId())));
+
+        assertEquals(user.getId(), searchIndex.search("priy quasar", List.of("user"), 10).get(0).getId());
+        assertEquals(user.getId(), searchIndex.search("9988776", List.of(), 10).get(0).getId());
+        assertEquals("Quasar GT", userService.searchCarModels("quasar cou", 5).get(0).getName());
+
+        List<SearchHit> plates = searchIndex.search("mh01ab", List.of("unit"), 10);
+        assertTrue(plates.stream().anyMatch(hit -> "MH01AB1234".equals(hit.getTitle()) && hit.getSubtitle() != null));
+
+        adminService.deleteCarModel(model.getId());
+        assertTrue(searchIndex.search("quasar gt", List.of("model"), 10).isEmpty());
+    }
+}
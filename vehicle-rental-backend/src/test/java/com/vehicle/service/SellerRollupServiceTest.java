@@ -0,0 +1,153 @@
+package com.vehicle.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vehicle.dto.BookingRequest;
+import com.vehicle.dto.SellerStats;
+import com.vehicle.dto.SellerStatsRow;
+import com.vehicle.event.BookingEvent;
+import com.vehicle.model.Booking;
+import com.vehicle.model.CarModel;
+import com.vehicle.model.CarUnit;
+import com.vehicle.model.User;
+import com.vehicle.repository.UserRepository;
+
+@SpringBootTest
+class SellerRollupServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2080, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2080, 3, 10);
+
+    @Autowired
+    private SellerRollupService sellerRollupService;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void rollupsFollowBookingsAndMatchABackfill() {
+        User seller = userService.registerUser(new User("Rollup Seller", "rollup-seller@example.com", "secret123",
+            "9000000020", "DL-ROLLUP", "seller", "active"));
+        CarModel model = sellerService.addVehicle(new CarModel("Rollup Sedan", "car", null, 1000), seller.getId());
+        CarUnit first = sellerService.addVehicleUnit(model.getId(), "RL01AA0001", seller.getId());
+        CarUnit second = sellerService.addVehicleUnit(model.getId(), "RL01AA0002", seller.getId());
+        User customer = userRepository.findByEmail("john@example.com").orElseThrow();
+
+        // Charged for 3 days (1st to 3rd), 1 day (same-day booking) and 2 days (cancelled below)
+        book(customer, first, LocalDate.of(2080, 3, 1), LocalDate.of(2080, 3, 4));
+        book(customer, second, LocalDate.of(2080, 3, 2), LocalDate.of(2080, 3, 2));
+        Booking cancelled = book(customer, second, LocalDate.of(2080, 3, 6), LocalDate.of(2080, 3, 8));
+
+        SellerStats byUnit = sellerRollupService.getStats(seller.getId(), FROM, TO, "unit");
+        assertEquals(6, byUnit.getBookedDays());
+        assertEquals(6000, byUnit.getRevenue(), 0.001);
+        assertEquals(30.0, byUnit.getUtilization(), 0.001);
+        assertEquals(List.of("RL01AA0001", "RL01AA0002"), byUnit.getRows().stream().map(SellerStatsRow::getLabel).toList());
+        assertEquals(30.0, byUnit.getRows().get(0).getUtilization(), 0.001);
+
+        bookingService.cancelBooking(cancelled.getId(), customer.getId());
+        SellerStats byDay = sellerRollupService.getStats(seller.getId(), FROM, TO, "day");
+        assertEquals(10, byDay.getRows().size());
+        assertEquals(4, byDay.getBookedDays());
+        assertEquals(100.0, byDay.getRows().get(1).getUtilization(), 0.001);
+        assertEquals(0, byDay.getRows().get(6).getBookedDays());
+
+        SellerStats byModel = sellerRollupService.getStats(seller.getId(), FROM, TO, "model");
+        assertEquals(1, byModel.getRows().size());
+        assertEquals("Rollup Sedan", byModel.getRows().get(0).getLabel());
+        assertEquals(4000, byModel.getRows().get(0).getRevenue(), 0.001);
+
+        // Rebuilding from bookings gives the same numbers as the incremental updates
+        sellerRollupService.backfill(FROM, TO);
+        SellerStats rebuilt = sellerRollupService.getStats(seller.getId(), FROM, TO, "day");
+        assertEquals(byDay.getBookedDays(), rebuilt.getBookedDays());
+        assertEquals(byDay.getRevenue(), rebuilt.getRevenue(), 0.001);
+        for (int i = 0; i < byDay.getRows().size(); i++) {
+            assertEquals(byDay.getRows().get(i).getBookedDays(), rebuilt.getRows().get(i).getBookedDays());
+            assertEquals(byDay.getRows().get(i).getRevenue(), rebuilt.getRows().get(i).getRevenue(), 0.001);
+        }
+    }
+
+    @Test
+    void aRowCreatedMeanwhileIsAddedTo() {
+        User seller = userService.registerUser(new User("Race Seller", "rollup-race@example.com", "secret123",
+            "9000000021", "DL-RACE", "seller", "active"));
+        CarModel model = sellerService.addVehicle(new CarModel("Race Sedan", "car", null, 800), seller.getId());
+        CarUnit unit = sellerService.addVehicleUnit(model.getId(), "RL02AA0001", seller.getId());
+        LocalDate day = LocalDate.of(2081, 1, 1);
+
+        sellerRollupService.addDay(seller.getId(), model.getId(), unit.getId(), day, 800);
+        // Same unit and day again, as when a backfill inserted the row first
+        sellerRollupService.addDay(seller.getId(), model.getId(), unit.getId(), day, 800);
+
+        SellerStats stats = sellerRollupService.getStats(seller.getId(), day, day, "unit");
+        assertEquals(2, stats.getBookedDays());
+        assertEquals(1600, stats.getRevenue(), 0.001);
+    }
+
+    @Test
+    void cancellingTwiceTakesTheBookingOffOnce() {
+        User seller = userService.registerUser(new User("Cancel Seller", "rollup-cancel@example.com", "secret123",
+            "9000000022", "DL-CANCEL", "seller", "active"));
+        CarModel model = sellerService.addVehicle(new CarModel("Cancel Sedan", "car", null, 500), seller.getId());
+        CarUnit unit = sellerService.addVehicleUnit(model.getId(), "RL03AA0001", seller.getId());
+        User customer = userRepository.findByEmail("john@example.com").orElseThrow();
+        LocalDate from = LocalDate.of(2082, 1, 1);
+        LocalDate to = LocalDate.of(2082, 1, 10);
+
+        Booking booking = book(customer, unit, LocalDate.of(2082, 1, 2), LocalDate.of(2082, 1, 5));
+        assertEquals(3, sellerRollupService.getStats(seller.getId(), from, to, "unit").getBookedDays());
+
+        bookingService.cancelBooking(booking.getId(), customer.getId());
+        assertThrows(RuntimeException.class, () -> bookingService.cancelBooking(booking.getId(), customer.getId()));
+        assertEquals(0, sellerRollupService.getStats(seller.getId(), from, to, "unit").getBookedDays());
+
+        // A cancellation that still reached the rollups twice is repaired by the nightly reconcile
+        transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(BookingEvent.cancelled(booking)));
+        assertEquals(-3, sellerRollupService.getStats(seller.getId(), from, to, "unit").getBookedDays());
+        sellerRollupService.reconcile();
+        SellerStats repaired = sellerRollupService.getStats(seller.getId(), from, to, "unit");
+        assertEquals(0, repaired.getBookedDays());
+        assertEquals(0, repaired.getRevenue(), 0.001);
+    }
+
+    @Test
+    void rejectsBadRangesAndGroupings() {
+        assertThrows(RuntimeException.class, () -> sellerRollupService.getStats(1L, TO, FROM, "day"));
+        assertThrows(RuntimeException.class, () -> sellerRollupService.getStats(1L, FROM, FROM.plusYears(2), "day"));
+        assertThrows(RuntimeException.class, () -> sellerRollupService.getStats(1L, FROM, TO, "week"));
+    }
+
+    private Booking book(User customer, CarUnit unit, LocalDate start, LocalDate end) {
+        BookingRequest request = new BookingRequest();
+        request.setCarUnitId(unit.getId());
+        request.setStartDate(start);
+        request.setEndDate(end);
+        return bookingService.createBooking(customer, request);
+    }
+}
@@ -0,0 +1,70 @@
+package com.vehicle.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TrafficLimitsTest {
+
+    @Test
+    void bucketAllowsBurstThenRefills() throws Exception {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("vroom.ratelimit.search.rate-per-second", "20")
+            .withProperty("vroom.ratelimit.search.burst", "3")
+            .withProperty("vroom.ratelimit.booking.rate-per-second", "20");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RateLimiter limiter = new RateLimiter(environment, registry);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire(RateLimiter.Group.SEARCH, "ip:1.2.3.4"));
+        }
+        long wait = limiter.tryAcquire(RateLimiter.Group.SEARCH, "ip:1.2.3.4");
+        assertTrue(wait > 0 && wait <= 50_000_000L);
+        // Other clients and other groups have their own buckets
+        assertEquals(0, limiter.tryAcquire(RateLimiter.Group.SEARCH, "ip:5.6.7.8"));
+        assertEquals(0, limiter.tryAcquire(RateLimiter.Group.BOOKING, "ip:1.2.3.4"));
+
+        Thread.sleep(60);
+        assertEquals(0, limiter.tryAcquire(RateLimiter.Group.SEARCH, "ip:1.2.3.4"));
+        assertEquals(1.0, registry.get("vroom.ratelimit.rejected").tag("group", "search").counter().count());
+
+        Thread.sleep(200);
+        limiter.sweepIdleBuckets();
+        assertEquals(0, limiter.bucketCount());
+    }
+
+    @Test
+    void searchIsShedBeforeBooking() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(registry, true, 10, 2, 100, 50, 0);
+
+        // Search may hold 60% of the limit, booking all of it
+        for (int i = 0; i < 6; i++) {
+            assertTrue(limiter.tryAcquire(ConcurrencyLimiter.Priority.SEARCH));
+        }
+        assertFalse(limiter.tryAcquire(ConcurrencyLimiter.Priority.SEARCH));
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire(ConcurrencyLimiter.Priority.BOOKING));
+        }
+        assertFalse(limiter.tryAcquire(ConcurrencyLimiter.Priority.BOOKING));
+
+        // Slow completions shrink the limit
+        for (int i = 0; i < 10; i++) {
+            limiter.release(200_000_000L);
+        }
+        assertEquals(0, limiter.getInFlight());
+        assertTrue(limiter.getLimit() < 5);
+        int search = 0;
+        while (limiter.tryAcquire(ConcurrencyLimiter.Priority.SEARCH)) {
+            search++;
+        }
+        assertTrue(limiter.tryAcquire(ConcurrencyLimiter.Priority.BOOKING));
+        assertTrue(search < 3);
+        assertTrue(registry.get("vroom.concurrency.shed").tag("priority", "search").counter().count() >= 2);
+    }
+}
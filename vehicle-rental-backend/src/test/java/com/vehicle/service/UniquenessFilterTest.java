@@ -0,0 +1,112 @@
+package com.vehicle.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vehicle.CarUnitFixtures;
+import com.vehicle.model.CarModel;
+import com.vehicle.model.CarUnit;
+import com.vehicle.model.User;
+import com.vehicle.repository.CarModelRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class UniquenessFilterTest {
+
+    @Autowired
+    private UniquenessFilter uniquenessFilter;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private CarUnitFixtures carUnits;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Test
+    void bloomHasNoFalseNegativesAndFewFalsePositives() {
+        UniquenessFilter.Bloom bloom = new UniquenessFilter.Bloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            bloom.add("user" + i + "@example.com");
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(bloom.mightContain("user" + i + "@example.com"));
+            if (bloom.mightContain("other" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 250, "false positives: " + falsePositives);
+        assertTrue(bloom.expectedFalsePositiveRate() < 0.02);
+    }
+
+    @Test
+    void unknownKeysSkipTheDatabase() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertFalse(uniquenessFilter.emailExists("nobody-" + System.nanoTime() + "@example.com"));
+        assertFalse(uniquenessFilter.plateExists("ZZ99QQ" + System.nanoTime() % 10000));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        assertTrue(uniquenessFilter.emailExists("john@example.com"));
+        assertTrue(uniquenessFilter.plateExists("MH01AB1234"));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void registeredEmailsAreRejectedAfterwards() {
+        String email = "bloom-" + System.nanoTime() + "@example.com";
+        assertFalse(uniquenessFilter.emailExists(email));
+        userService.registerUser(new User("Bloom User", email, "secret123", "9000000002", "DL-BLOOM", "user", "active"));
+
+        assertTrue(uniquenessFilter.emailExists(email));
+        assertThrows(RuntimeException.class, () -> userService.registerUser(
+            new User("Bloom Copy", email, "secret123", "9000000003", "DL-BLOOM2", "user", "active")));
+    }
+
+    @Test
+    void platesWrittenElsewhereAreStillRejected() {
+        // Saved straight through the repository, as another node would: this filter never sees it
+        CarModel model = carModelRepository.findAll().get(0);
+        carUnits.save("NB01AA0001", model);
+
+        CarUnit duplicate = new CarUnit();
+        duplicate.setNumberPlate("NB01AA0001");
+        duplicate.setCarModel(model);
+        RuntimeException e = assertThrows(RuntimeException.class, () -> adminService.addCarUnit(duplicate));
+        assertEquals("Vehicle with this number plate already exists", e.getMessage());
+    }
+
+    @Test
+    void platesMatchingALegacyPlateAreRejected() {
+        // Stored with separators, as plates were before they were normalized on write
+        CarModel model = carModelRepository.findAll().get(0);
+        carUnits.save("NB-02 AA 0002", model);
+        // Legacy rows predate this node, so its filters loaded them at startup
+        uniquenessFilter.load();
+
+        CarUnit duplicate = new CarUnit();
+        duplicate.setNumberPlate("nb02aa0002");
+        duplicate.setCarModel(model);
+        RuntimeException e = assertThrows(RuntimeException.class, () -> adminService.addCarUnit(duplicate));
+        assertEquals("Vehicle with this number plate already exists", e.getMessage());
+    }
+}